@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.clauses.solutions.io.PartialListFormat;
+import de.featjar.evaluation.EvaluationPhase;
+import de.featjar.evaluation.Evaluator;
+import de.featjar.evaluation.twise.util.HammingDistances;
+import de.featjar.evaluation.twise.util.HammingDistances.Statistics;
+import de.featjar.evaluation.twise.util.SampleFile;
+import de.featjar.evaluation.twise.util.Samples;
+import de.featjar.formula.structure.atomic.literal.VariableMap;
+import de.featjar.util.data.Result;
+import de.featjar.util.io.IO;
+import de.featjar.util.io.csv.CSVWriter;
+import de.featjar.util.logging.Logger;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes the pairwise Hamming distances and the selection ratio of each feature for the samples computed by the
+ * {@link SamplingPhase}.
+ *
+ * @author Sebastian Krieter
+ */
+public class DiversityPhase implements EvaluationPhase {
+
+    private final PartialListFormat sampleFormat = new PartialListFormat();
+
+    private SampleFile sampleFile;
+    private int sampleSize;
+    private Statistics statistics;
+    private double[] selectionRatios;
+    private double selectionRatioMean;
+    private String featureName;
+    private double selectionRatio;
+
+    @Override
+    public void run(Evaluator evaluator) {
+        final TWiseSampleEvaluator tWiseEvaluator = (TWiseSampleEvaluator) evaluator;
+
+        final CSVWriter diversityWriter = evaluator.addCSVWriter(
+                "diversity.csv",
+                "ModelID",
+                "AlgorithmID",
+                "SystemIteration",
+                "AlgorithmIteration",
+                "SampleSize",
+                "HammingMean",
+                "HammingMin",
+                "HammingMax",
+                "SelectionRatioMean");
+        final CSVWriter featureWriter = evaluator.addCSVWriter(
+                "features.csv",
+                "ModelID",
+                "AlgorithmID",
+                "SystemIteration",
+                "AlgorithmIteration",
+                "Feature",
+                "SelectionRatio");
+        diversityWriter.setLineWriter(this::writeDiversity);
+        featureWriter.setLineWriter(this::writeFeature);
+
+        evaluator.tabFormatter.setTabLevel(0);
+        Logger.logInfo("Start");
+
+        final List<SampleFile> sampleFiles;
+        try {
+            sampleFiles = SampleFile.list(tWiseEvaluator.outputPath, sampleFormat.getFileExtension());
+        } catch (final Exception e) {
+            Logger.logError("Could not list sample files in " + tWiseEvaluator.outputPath);
+            Logger.logError(e);
+            return;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(tWiseEvaluator.getThreadCount());
+        try {
+            evaluator.tabFormatter.setTabLevel(1);
+            for (final SampleFile currentSampleFile : sampleFiles) {
+                Logger.logInfo(currentSampleFile.toString());
+                final Result<SolutionList> sample = IO.load(currentSampleFile.getPath(), sampleFormat);
+                if (sample.isEmpty()) {
+                    Logger.logError("Could not read sample file " + currentSampleFile);
+                    Logger.logProblems(sample.getProblems());
+                    continue;
+                }
+                final VariableMap variableMap = sample.get().getVariableMap();
+                final int variableCount = variableMap.getVariableCount();
+                final List<int[]> configurations = Samples.toArrays(sample.get());
+
+                sampleFile = currentSampleFile;
+                sampleSize = configurations.size();
+                statistics = HammingDistances.compute(HammingDistances.pack(configurations, variableCount), pool);
+                computeSelectionRatios(configurations, variableCount);
+                diversityWriter.writeLine();
+
+                for (int variable = 1; variable <= variableCount; variable++) {
+                    featureName = variableMap.getVariableName(variable).orElse(Integer.toString(variable));
+                    selectionRatio = selectionRatios[variable - 1];
+                    featureWriter.writeLine();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        evaluator.tabFormatter.setTabLevel(0);
+        Logger.logInfo("Finished");
+    }
+
+    private void computeSelectionRatios(List<int[]> configurations, int variableCount) {
+        final int[] selections = new int[variableCount];
+        for (final int[] configuration : configurations) {
+            for (final int literal : configuration) {
+                if (literal > 0) {
+                    selections[literal - 1]++;
+                }
+            }
+        }
+        selectionRatios = new double[variableCount];
+        double sum = 0;
+        for (int i = 0; i < variableCount; i++) {
+            selectionRatios[i] = configurations.isEmpty() ? 0 : (double) selections[i] / configurations.size();
+            sum += selectionRatios[i];
+        }
+        selectionRatioMean = variableCount == 0 ? 0 : sum / variableCount;
+    }
+
+    protected void writeDiversity(CSVWriter diversityCSVWriter) {
+        diversityCSVWriter.addValue(sampleFile.getModelID());
+        diversityCSVWriter.addValue(sampleFile.getAlgorithmIndex());
+        diversityCSVWriter.addValue(sampleFile.getSystemIteration());
+        diversityCSVWriter.addValue(sampleFile.getAlgorithmIteration());
+        diversityCSVWriter.addValue(sampleSize);
+        diversityCSVWriter.addValue(statistics.getMean());
+        diversityCSVWriter.addValue(statistics.getMin());
+        diversityCSVWriter.addValue(statistics.getMax());
+        diversityCSVWriter.addValue(selectionRatioMean);
+    }
+
+    protected void writeFeature(CSVWriter featureCSVWriter) {
+        featureCSVWriter.addValue(sampleFile.getModelID());
+        featureCSVWriter.addValue(sampleFile.getAlgorithmIndex());
+        featureCSVWriter.addValue(sampleFile.getSystemIteration());
+        featureCSVWriter.addValue(sampleFile.getAlgorithmIteration());
+        featureCSVWriter.addValue(featureName);
+        featureCSVWriter.addValue(selectionRatio);
+    }
+}
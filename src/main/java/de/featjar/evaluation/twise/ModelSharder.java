@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.evaluation.twise.util.CSVTable;
+import de.featjar.util.cli.CLIFunction;
+import de.featjar.util.logging.Logger;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Splits the models of a configuration into shards of similar size that can be evaluated independently. The size of
+ * a model is estimated as #Variables * #Clauses from the models.csv of a prior run, models without prior data are
+ * assumed to have the median size. For each shard, a configuration directory is created next to the original one,
+ * writing its results to a separate output directory. Each shard keeps the original models.txt, such that the
+ * evaluator assigns the same model IDs as in an unsharded run, and only evaluates the models listed in its
+ * {@value #SHARD_MODELS_FILE}. The assignment of models to shards is written to {@value #SHARDS_FILE} in the original
+ * configuration directory. The results are merged by {@link ShardMerger}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ModelSharder implements CLIFunction {
+
+    public static final String SHARDS_FILE = "shards.csv";
+    public static final String SHARD_MODELS_FILE = "shard_models.txt";
+
+    private static class Model {
+        private final String name;
+        private final int index;
+        private double size = -1;
+
+        private Model(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "shard";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Splits the models of a configuration into size-balanced shards";
+    }
+
+    @Override
+    public void run(List<String> args) {
+        if (args.size() < 2 || args.size() > 3) {
+            Logger.logError("Usage: shard <config directory> <number of shards> [<prior models.csv>]");
+            return;
+        }
+        final Path configPath = Paths.get(args.get(0)).toAbsolutePath().normalize();
+        final int shardCount = Integer.parseInt(args.get(1));
+        try {
+            final List<Model> models = readModels(configPath.resolve("models.txt"));
+            if (args.size() == 3) {
+                readSizes(Paths.get(args.get(2)), models);
+            }
+            final List<List<Model>> shards = balance(models, shardCount);
+            writeShards(configPath, shards);
+        } catch (final Exception e) {
+            Logger.logError(e);
+        }
+    }
+
+    private static List<Model> readModels(Path modelsFile) throws IOException {
+        final List<Model> models = new ArrayList<>();
+        for (final String line : Files.readAllLines(modelsFile, StandardCharsets.UTF_8)) {
+            if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                models.add(new Model(line.trim(), models.size()));
+            }
+        }
+        return models;
+    }
+
+    private static void readSizes(Path priorModelsFile, List<Model> models) throws IOException {
+        final Map<String, Double> sizes = new HashMap<>();
+        CSVTable.forEachRow(priorModelsFile, row -> sizes.put(
+                row.get("Name"),
+                Double.parseDouble(row.get("#Variables")) * Double.parseDouble(row.get("#Clauses"))));
+        for (final Model model : models) {
+            model.size = sizes.getOrDefault(model.name, -1.0);
+        }
+    }
+
+    /**
+     * Assigns the models to shards using the longest-processing-time-first heuristic.
+     */
+    private static List<List<Model>> balance(List<Model> models, int shardCount) {
+        final List<Double> knownSizes =
+                models.stream().filter(m -> m.size >= 0).map(m -> m.size).sorted().collect(Collectors.toList());
+        final double defaultSize = knownSizes.isEmpty() ? 1 : knownSizes.get(knownSizes.size() / 2);
+        for (final Model model : models) {
+            if (model.size < 0) {
+                model.size = defaultSize;
+            }
+        }
+
+        final List<List<Model>> shards = new ArrayList<>(shardCount);
+        final double[] shardSizes = new double[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        final List<Model> sortedModels = new ArrayList<>(models);
+        sortedModels.sort(Comparator.comparingDouble((Model m) -> m.size).reversed());
+        for (final Model model : sortedModels) {
+            int smallestShard = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (shardSizes[i] < shardSizes[smallestShard]) {
+                    smallestShard = i;
+                }
+            }
+            shards.get(smallestShard).add(model);
+            shardSizes[smallestShard] += model.size;
+        }
+        for (final List<Model> shard : shards) {
+            shard.sort(Comparator.comparingInt(m -> m.index));
+        }
+        return shards;
+    }
+
+    private static void writeShards(Path configPath, List<List<Model>> shards) throws IOException {
+        final List<String> properties = Files.readAllLines(configPath.resolve("config.properties"));
+        try (BufferedWriter shardsWriter = Files.newBufferedWriter(configPath.resolve(SHARDS_FILE))) {
+            shardsWriter.write(String.join(CSVTable.SEPARATOR, "Name", "Shard"));
+            shardsWriter.newLine();
+            for (int i = 0; i < shards.size(); i++) {
+                final Path shardPath = configPath.resolveSibling(configPath.getFileName() + "_shard" + i);
+                Files.createDirectories(shardPath);
+                Files.write(shardPath.resolve("config.properties"), getShardProperties(properties, i));
+                Files.copy(
+                        configPath.resolve("models.txt"),
+                        shardPath.resolve("models.txt"),
+                        StandardCopyOption.REPLACE_EXISTING);
+                Files.write(
+                        shardPath.resolve(SHARD_MODELS_FILE),
+                        shards.get(i).stream().map(m -> m.name).collect(Collectors.toList()));
+                for (final Model model : shards.get(i)) {
+                    shardsWriter.write(String.join(CSVTable.SEPARATOR, model.name, Integer.toString(i)));
+                    shardsWriter.newLine();
+                }
+                Logger.logInfo(shardPath + ": " + shards.get(i).size() + " models");
+            }
+        }
+    }
+
+    private static List<String> getShardProperties(List<String> properties, int shard) {
+        final List<String> shardProperties = new ArrayList<>(properties.size());
+        boolean hasOutput = false;
+        for (final String line : properties) {
+            if (line.trim().startsWith("output=")) {
+                shardProperties.add(line.trim() + "/shard" + shard);
+                hasOutput = true;
+            } else if (!line.trim().startsWith("shardModels=")) {
+                shardProperties.add(line);
+            }
+        }
+        if (!hasOutput) {
+            shardProperties.add("output=results/shard" + shard);
+        }
+        shardProperties.add("shardModels=" + SHARD_MODELS_FILE);
+        return shardProperties;
+    }
+}
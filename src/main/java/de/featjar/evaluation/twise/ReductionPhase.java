@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.clauses.solutions.io.PartialListFormat;
+import de.featjar.evaluation.EvaluationPhase;
+import de.featjar.evaluation.Evaluator;
+import de.featjar.evaluation.twise.util.GreedySampleReducer;
+import de.featjar.evaluation.twise.util.SampleFile;
+import de.featjar.evaluation.twise.util.Samples;
+import de.featjar.evaluation.twise.util.TWiseInteractions;
+import de.featjar.util.data.Result;
+import de.featjar.util.io.IO;
+import de.featjar.util.io.csv.CSVWriter;
+import de.featjar.util.logging.Logger;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Removes configurations from the samples computed by the {@link SamplingPhase} whose t-wise interactions are all
+ * covered by other configurations.
+ *
+ * @author Sebastian Krieter
+ */
+public class ReductionPhase implements EvaluationPhase {
+
+    private final PartialListFormat sampleFormat = new PartialListFormat();
+
+    private SampleFile sampleFile;
+    private int t, sampleSize, reducedSampleSize;
+    private long reductionTime;
+
+    @Override
+    public void run(Evaluator evaluator) {
+        final TWiseSampleEvaluator tWiseEvaluator = (TWiseSampleEvaluator) evaluator;
+
+        final CSVWriter reductionWriter = evaluator.addCSVWriter(
+                "reduction.csv",
+                "ModelID",
+                "AlgorithmID",
+                "SystemIteration",
+                "AlgorithmIteration",
+                "T",
+                "SampleSize",
+                "ReducedSampleSize",
+                "ReductionTime");
+        reductionWriter.setLineWriter(this::writeReduction);
+
+        evaluator.tabFormatter.setTabLevel(0);
+        Logger.logInfo("Start");
+
+        final List<SampleFile> sampleFiles;
+        try {
+            sampleFiles = SampleFile.list(tWiseEvaluator.outputPath, sampleFormat.getFileExtension());
+        } catch (final Exception e) {
+            Logger.logError("Could not list sample files in " + tWiseEvaluator.outputPath);
+            Logger.logError(e);
+            return;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(tWiseEvaluator.getThreadCount());
+        try {
+            for (final SampleFile currentSampleFile : sampleFiles) {
+                evaluator.tabFormatter.setTabLevel(1);
+                Logger.logInfo(currentSampleFile.toString());
+                evaluator.tabFormatter.setTabLevel(2);
+
+                final Result<SolutionList> sample = IO.load(currentSampleFile.getPath(), sampleFormat);
+                if (sample.isEmpty()) {
+                    Logger.logError("Could not read sample file " + currentSampleFile);
+                    Logger.logProblems(sample.getProblems());
+                    continue;
+                }
+                final SolutionList solutionList = sample.get();
+                final List<int[]> configurations = Samples.toArrays(solutionList);
+
+                for (final Integer tValue : tWiseEvaluator.tProperty.getValue()) {
+                    final String reducedSampleFileName = currentSampleFile
+                            .getPath()
+                            .getFileName()
+                            .toString()
+                            .replace("_sample.", "_t" + tValue + "_reduced_sample.");
+                    try {
+                        final TWiseInteractions interactions = new TWiseInteractions(
+                                tValue, solutionList.getVariableMap().getVariableCount());
+
+                        final long startTime = System.nanoTime();
+                        final List<Integer> selected = pool.submit(() -> new GreedySampleReducer()
+                                        .reduce(interactions.getInteractionSets(configurations)))
+                                .get();
+                        final long endTime = System.nanoTime();
+
+                        final List<LiteralList> reducedSolutions = selected.stream()
+                                .map(solutionList.getSolutions()::get)
+                                .collect(Collectors.toList());
+                        IO.save(
+                                new SolutionList(solutionList.getVariableMap(), reducedSolutions),
+                                tWiseEvaluator.outputPath.resolve(reducedSampleFileName),
+                                sampleFormat);
+
+                        sampleFile = currentSampleFile;
+                        t = tValue;
+                        sampleSize = configurations.size();
+                        reducedSampleSize = reducedSolutions.size();
+                        reductionTime = (endTime - startTime) / 1_000_000L;
+                        reductionWriter.writeLine();
+                    } catch (final Exception e) {
+                        Logger.logError("Could not reduce sample file " + currentSampleFile + " for t = " + tValue);
+                        Logger.logError(e);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        evaluator.tabFormatter.setTabLevel(0);
+        Logger.logInfo("Finished");
+    }
+
+    protected void writeReduction(CSVWriter reductionCSVWriter) {
+        reductionCSVWriter.addValue(sampleFile.getModelID());
+        reductionCSVWriter.addValue(sampleFile.getAlgorithmIndex());
+        reductionCSVWriter.addValue(sampleFile.getSystemIteration());
+        reductionCSVWriter.addValue(sampleFile.getAlgorithmIteration());
+        reductionCSVWriter.addValue(t);
+        reductionCSVWriter.addValue(sampleSize);
+        reductionCSVWriter.addValue(reducedSampleSize);
+        reductionCSVWriter.addValue(reductionTime);
+    }
+}
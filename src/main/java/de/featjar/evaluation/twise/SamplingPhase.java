@@ -20,21 +20,32 @@
  */
 package de.featjar.evaluation.twise;
 
-import de.featjar.clauses.CNF;
+import de.featjar.analysis.sat4j.AtomicSetAnalysis;
+import de.featjar.analysis.sat4j.CoreDeadAnalysis;
 import de.featjar.clauses.CNFProvider;
+import de.featjar.clauses.LiteralList;
 import de.featjar.clauses.solutions.SolutionList;
 import de.featjar.clauses.solutions.io.PartialListFormat;
 import de.featjar.evaluation.EvaluationPhase;
 import de.featjar.evaluation.Evaluator;
 import de.featjar.evaluation.process.Algorithm;
-import de.featjar.evaluation.process.ProcessRunner;
-import de.featjar.evaluation.process.Result;
 import de.featjar.evaluation.twise.algorithms.Dummy;
 import de.featjar.evaluation.twise.algorithms.FIDEChvatal;
 import de.featjar.evaluation.twise.algorithms.FIDEICPL;
 import de.featjar.evaluation.twise.algorithms.FIDEIncLing;
 import de.featjar.evaluation.twise.algorithms.FIDEYASA;
 import de.featjar.evaluation.twise.algorithms.YASA;
+import de.featjar.evaluation.twise.monitor.EvaluationProgress;
+import de.featjar.evaluation.twise.monitor.MetricsServer;
+import de.featjar.evaluation.twise.process.CoreAllocator;
+import de.featjar.evaluation.twise.process.CpuTopology;
+import de.featjar.evaluation.twise.process.MonitoredProcessRunner;
+import de.featjar.evaluation.twise.process.RunResult;
+import de.featjar.evaluation.twise.util.CompactCNF;
+import de.featjar.evaluation.twise.util.DIMACSWriter;
+import de.featjar.evaluation.twise.util.ModelSimplifier;
+import de.featjar.evaluation.twise.util.ReplayBundle;
+import de.featjar.evaluation.twise.util.SampleFile;
 import de.featjar.evaluation.util.ModelReader;
 import de.featjar.formula.ModelRepresentation;
 import de.featjar.formula.io.FormulaFormatManager;
@@ -44,9 +55,13 @@ import de.featjar.util.io.IO;
 import de.featjar.util.io.csv.CSVWriter;
 import de.featjar.util.logging.Logger;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.Random;
 
 /**
@@ -55,14 +70,19 @@ import java.util.Random;
 public class SamplingPhase implements EvaluationPhase {
 
     private final DIMACSFormatCNF modelFormat = new DIMACSFormatCNF();
+    private final DIMACSWriter dimacsWriter = new DIMACSWriter();
     private final PartialListFormat sampleFormat = new PartialListFormat();
 
     private List<Algorithm<SolutionList>> algorithmList;
 
-    private CSVWriter dataWriter, modelWriter, algorithmWriter;
-    private int algorithmIndex, algorithmIteration;
-    private Result<SolutionList> result;
-    private CNF modelCNF;
+    private CSVWriter dataWriter, modelWriter, algorithmWriter, simplificationWriter;
+    private int algorithmIndex, algorithmIteration, firstSimplifiedAlgorithmIndex;
+    private RunResult<SolutionList> result;
+    private CompactCNF modelCNF;
+    private ModelSimplifier modelSimplifier;
+    private long simplificationTime;
+    private EvaluationProgress progress;
+    private CoreAllocator coreAllocator;
 
     private TWiseSampleEvaluator tWiseEvaluator;
 
@@ -80,12 +100,25 @@ public class SamplingPhase implements EvaluationPhase {
                 "AlgorithmIteration",
                 "InTime",
                 "Success",
+                "TerminationReason",
                 "Time",
-                "SampleSize");
+                "SampleSize",
+                "CoreSet");
 
         modelWriter.setLineWriter(this::writeModel);
         algorithmWriter.setLineWriter(this::writeAlgorithm);
         dataWriter.setLineWriter(this::writeData);
+        if (tWiseEvaluator.simplifyProperty.getValue()) {
+            simplificationWriter = evaluator.addCSVWriter(
+                    "simplification.csv",
+                    "ModelID",
+                    "#Core",
+                    "#Dead",
+                    "#ReducedVariables",
+                    "#ReducedClauses",
+                    "SimplificationTime");
+            simplificationWriter.setLineWriter(this::writeSimplification);
+        }
 
         final ModelReader<Formula> mr = new ModelReader<>();
         mr.setPathToFiles(tWiseEvaluator.modelPath);
@@ -95,93 +128,255 @@ public class SamplingPhase implements EvaluationPhase {
             evaluator.tabFormatter.setTabLevel(0);
             Logger.logInfo("Start");
 
-            final ProcessRunner processRunner = new ProcessRunner();
+            final MonitoredProcessRunner processRunner = new MonitoredProcessRunner();
             processRunner.setTimeout(evaluator.timeout.getValue());
+            processRunner.setStallWindow(tWiseEvaluator.stallWindowProperty.getValue());
+            processRunner.setMemoryLimit(tWiseEvaluator.memoryLimitProperty.getValue() * 1024L * 1024L);
+            processRunner.setLogSizeLimit(tWiseEvaluator.childLogLimitProperty.getValue() * 1024L * 1024L);
+            if (!setIsolation(processRunner)) {
+                return;
+            }
 
             prepareAlgorithms();
+            final MetricsServer metricsServer = startProgress();
 
-            systemLoop:
-            for (evaluator.systemIndex = 0; evaluator.systemIndex < evaluator.systemIndexMax; evaluator.systemIndex++) {
-                evaluator.tabFormatter.setTabLevel(1);
-                evaluator.logSystem();
+            try {
+                if (!pinOrchestrator()) {
+                    return;
+                }
+                runSystems(mr, processRunner);
+            } finally {
+                if (metricsServer != null) {
+                    metricsServer.stop();
+                }
+                progress.unregister();
+                unpinOrchestrator();
+            }
+            evaluator.tabFormatter.setTabLevel(0);
+            Logger.logInfo("Finished");
+        } else {
+            Logger.logInfo("Nothing to do");
+        }
+    }
 
-                if (!readModel(mr)) {
+    private void runSystems(ModelReader<Formula> mr, MonitoredProcessRunner processRunner) {
+        systemLoop:
+        for (tWiseEvaluator.systemIndex = 0;
+                tWiseEvaluator.systemIndex < tWiseEvaluator.systemIndexMax;
+                tWiseEvaluator.systemIndex++) {
+            if (!tWiseEvaluator.isInShard()) {
+                skipRuns(tWiseEvaluator.systemIterations.getValue());
+                continue systemLoop;
+            }
+            tWiseEvaluator.tabFormatter.setTabLevel(1);
+            tWiseEvaluator.logSystem();
+
+            if (!readModel(mr)) {
+                skipRuns(tWiseEvaluator.systemIterations.getValue());
+                continue systemLoop;
+            }
+
+            for (tWiseEvaluator.systemIteration = 1;
+                    tWiseEvaluator.systemIteration <= tWiseEvaluator.systemIterations.getValue();
+                    tWiseEvaluator.systemIteration++) {
+                if (!adaptModel()) {
+                    skipRuns(tWiseEvaluator.systemIterations.getValue() - tWiseEvaluator.systemIteration + 1);
                     continue systemLoop;
                 }
 
-                for (evaluator.systemIteration = 1;
-                        evaluator.systemIteration <= evaluator.systemIterations.getValue();
-                        evaluator.systemIteration++) {
-                    if (!adaptModel()) {
-                        continue systemLoop;
+                algorithmIndex = -1;
+                algorithmLoop:
+                for (final Algorithm<SolutionList> algorithm : algorithmList) {
+                    algorithmIndex++;
+                    if (isSimplified(algorithmIndex) && modelSimplifier == null) {
+                        progress.skipRuns(algorithmIndex, algorithm.getIterations());
+                        continue algorithmLoop;
                     }
+                    for (algorithmIteration = 1;
+                            algorithmIteration <= algorithm.getIterations();
+                            algorithmIteration++) {
+
+                        tWiseEvaluator.tabFormatter.setTabLevel(2);
+                        logRun();
+                        tWiseEvaluator.tabFormatter.setTabLevel(3);
 
-                    algorithmIndex = -1;
-                    algorithmLoop:
-                    for (final Algorithm<SolutionList> algorithm : algorithmList) {
-                        algorithmIndex++;
-                        for (algorithmIteration = 1;
-                                algorithmIteration <= algorithm.getIterations();
-                                algorithmIteration++) {
-
-                            evaluator.tabFormatter.setTabLevel(2);
-                            logRun();
-                            evaluator.tabFormatter.setTabLevel(3);
-
-                            String sampleFileName = tWiseEvaluator.getSystemID() + "_" + tWiseEvaluator.systemIteration
-                                    + "_" + algorithmIndex + "_" + algorithmIteration + "_sample."
-                                    + sampleFormat.getFileExtension();
+                        final String sampleFileName = SampleFile.getFileName(
+                                tWiseEvaluator.getSystemID(),
+                                tWiseEvaluator.systemIteration,
+                                algorithmIndex,
+                                algorithmIteration,
+                                sampleFormat.getFileExtension());
+                        progress.startRun(
+                                tWiseEvaluator.getSystemName() + " | " + getAlgorithmName(algorithmIndex));
+                        result = processRunner.run(algorithm, getLogFile());
+                        progress.finishRun(algorithmIndex, result.getTime(), result.isTerminatedInTime());
+                        exportReplayBundle(algorithm);
+                        dataWriter.writeLine();
+                        if (result.getResult() != null) {
                             try {
-                                result = processRunner.run(algorithm);
-                                dataWriter.writeLine();
                                 IO.save(
-                                        result.getResult(),
+                                        isSimplified(algorithmIndex)
+                                                ? modelSimplifier.expand(result.getResult())
+                                                : result.getResult(),
                                         tWiseEvaluator.outputPath.resolve(sampleFileName),
                                         sampleFormat);
                             } catch (final Exception e) {
                                 Logger.logError("Could not save sample file " + sampleFileName);
                                 Logger.logError(e);
-                                continue algorithmLoop;
                             }
                         }
                     }
                 }
             }
-            evaluator.tabFormatter.setTabLevel(0);
-            Logger.logInfo("Finished");
-        } else {
-            Logger.logInfo("Nothing to do");
+        }
+    }
+
+    private boolean setIsolation(MonitoredProcessRunner processRunner) {
+        final int isolationCores = tWiseEvaluator.isolationCoresProperty.getValue();
+        if (isolationCores > 0) {
+            try {
+                coreAllocator = new CoreAllocator(CpuTopology.read(), isolationCores);
+                final String cGroupPath = tWiseEvaluator.cGroupPathProperty.getValue();
+                processRunner.setIsolation(coreAllocator, cGroupPath.isEmpty() ? null : Paths.get(cGroupPath));
+            } catch (final Exception e) {
+                Logger.logError("Could not set up isolation of child processes");
+                Logger.logError(e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pins the evaluator to the core that is reserved by the core allocator, such that it does not compete with the
+     * isolated child processes.
+     */
+    private boolean pinOrchestrator() {
+        if (coreAllocator != null) {
+            try {
+                coreAllocator.pinCurrentProcess();
+            } catch (final Exception e) {
+                Logger.logError("Could not pin the evaluator to its reserved core");
+                Logger.logError(e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unpinOrchestrator() {
+        if (coreAllocator != null) {
+            try {
+                coreAllocator.unpinCurrentProcess();
+            } catch (final Exception e) {
+                Logger.logError("Could not restore the CPU affinity of the evaluator");
+                Logger.logError(e);
+            }
+        }
+    }
+
+    private MetricsServer startProgress() {
+        final List<String> algorithmNames = new ArrayList<>(algorithmList.size());
+        final long[] runsPerAlgorithm = new long[algorithmList.size()];
+        for (int i = 0; i < runsPerAlgorithm.length; i++) {
+            final Algorithm<SolutionList> algorithm = algorithmList.get(i);
+            algorithmNames.add(getAlgorithmName(i));
+            runsPerAlgorithm[i] = (long) tWiseEvaluator.systemIndexMax
+                    * tWiseEvaluator.systemIterations.getValue()
+                    * algorithm.getIterations();
+        }
+        progress = new EvaluationProgress(algorithmNames, runsPerAlgorithm);
+        progress.register();
+
+        final int metricsPort = tWiseEvaluator.metricsPortProperty.getValue();
+        if (metricsPort > 0) {
+            final MetricsServer metricsServer = new MetricsServer(progress);
+            try {
+                metricsServer.start(metricsPort);
+                return metricsServer;
+            } catch (IOException e) {
+                Logger.logError("Could not start metrics server on port " + metricsPort);
+                Logger.logError(e);
+            }
+        }
+        return null;
+    }
+
+    private void skipRuns(int systemIterations) {
+        for (int i = 0; i < algorithmList.size(); i++) {
+            progress.skipRuns(i, (long) systemIterations * algorithmList.get(i).getIterations());
         }
     }
 
     private boolean readModel(final ModelReader<Formula> mr) {
-        modelCNF = mr.read(tWiseEvaluator.getSystemName())
+        final ModelRepresentation model = mr.read(tWiseEvaluator.getSystemName())
                 .map(ModelRepresentation::new)
-                .map(m -> m.get(CNFProvider.fromFormula()))
                 .orElse(Logger::logProblems);
-        if (modelCNF == null) {
+        if (model == null) {
             Logger.logError("Could not read file " + tWiseEvaluator.getSystemName());
             return false;
         }
+        modelCNF = CompactCNF.fromCNF(model.get(CNFProvider.fromFormula()));
         final String orgModelFileName = tWiseEvaluator.getSystemID() + "_org_model." + modelFormat.getFileExtension();
         try {
-            IO.save(modelCNF, tWiseEvaluator.outputPath.resolve(orgModelFileName), modelFormat);
+            dimacsWriter.write(modelCNF, tWiseEvaluator.outputPath.resolve(orgModelFileName));
         } catch (IOException e) {
             Logger.logError("Could not save model file " + orgModelFileName);
             Logger.logError(e);
             return false;
         }
         modelWriter.writeLine();
+        if (tWiseEvaluator.simplifyProperty.getValue()) {
+            simplifyModel(model);
+        }
         return true;
     }
 
+    /**
+     * Simplifies the current model. If the simplification fails, only the simplified algorithms are skipped for this
+     * model.
+     */
+    private void simplifyModel(ModelRepresentation model) {
+        modelSimplifier = null;
+        try {
+            final long startTime = System.nanoTime();
+            final LiteralList coreDead = model.get(new CoreDeadAnalysis());
+            final List<LiteralList> atomicSets = model.get(new AtomicSetAnalysis());
+            modelSimplifier = new ModelSimplifier(modelCNF, coreDead, atomicSets);
+            modelSimplifier.reduce();
+            final long endTime = System.nanoTime();
+            simplificationTime = (endTime - startTime) / 1_000_000L;
+        } catch (final Exception e) {
+            Logger.logError("Could not simplify model " + tWiseEvaluator.getSystemName());
+            Logger.logError(e);
+            modelSimplifier = null;
+            return;
+        }
+        simplificationWriter.writeLine();
+    }
+
     protected void prepareAlgorithms() {
         algorithmList = new ArrayList<>();
 
+        addAlgorithms(tWiseEvaluator.tempPath.resolve("model." + modelFormat.getFileExtension()));
+        firstSimplifiedAlgorithmIndex = algorithmList.size();
+        if (tWiseEvaluator.simplifyProperty.getValue()) {
+            addAlgorithms(tWiseEvaluator.tempPath.resolve("model_reduced." + modelFormat.getFileExtension()));
+        }
+
+        algorithmIndex = 0;
+        for (final Algorithm<SolutionList> algorithm : algorithmList) {
+            algorithm.setIterations(tWiseEvaluator.algorithmIterations.getValue());
+            algorithmWriter.writeLine();
+            algorithmIndex++;
+        }
+        algorithmIndex = 0;
+    }
+
+    private void addAlgorithms(Path modelFile) {
         for (final String algorithmName : tWiseEvaluator.algorithmsProperty.getValue()) {
             for (final Integer tValue : tWiseEvaluator.tProperty.getValue()) {
                 final Path sampleFile = tWiseEvaluator.tempPath.resolve("sample.csv");
-                final Path modelFile = tWiseEvaluator.tempPath.resolve("model.dimacs");
                 switch (algorithmName) {
                     case "DUMMY": {
                         algorithmList.add(new Dummy());
@@ -270,28 +465,102 @@ public class SamplingPhase implements EvaluationPhase {
                 }
             }
         }
-        algorithmIndex = 0;
-        for (final Algorithm<SolutionList> algorithm : algorithmList) {
-            algorithm.setIterations(tWiseEvaluator.algorithmIterations.getValue());
-            algorithmWriter.writeLine();
-            algorithmIndex++;
+    }
+
+    private Path getLogFile() {
+        final int logSizeLimit = tWiseEvaluator.childLogLimitProperty.getValue();
+        if (logSizeLimit <= 0) {
+            return null;
         }
-        algorithmIndex = 0;
+        return tWiseEvaluator
+                .outputPath
+                .resolve("logs")
+                .resolve(getRunID() + ".log.gz");
+    }
+
+    private String getRunID() {
+        return tWiseEvaluator.getSystemID() + "_" + tWiseEvaluator.systemIteration + "_" + algorithmIndex + "_"
+                + algorithmIteration;
+    }
+
+    /**
+     * Exports a replay bundle if the last run exceeded the replay threshold or did not terminate in time.
+     */
+    private void exportReplayBundle(Algorithm<SolutionList> algorithm) {
+        final int replayThreshold = tWiseEvaluator.replayThresholdProperty.getValue();
+        if (replayThreshold <= 0 || (result.isTerminatedInTime() && result.getTime() < replayThreshold)) {
+            return;
+        }
+        final Path bundlePath = tWiseEvaluator.outputPath.resolve("replay").resolve(getRunID());
+        try {
+            final Properties properties = new Properties();
+            properties.setProperty("model", tWiseEvaluator.getSystemName());
+            properties.setProperty("modelID", String.valueOf(tWiseEvaluator.getSystemID()));
+            properties.setProperty("systemIteration", Integer.toString(tWiseEvaluator.systemIteration));
+            properties.setProperty("randomSeed", String.valueOf(tWiseEvaluator.randomSeed.getValue()));
+            properties.setProperty("algorithm", algorithm.getName());
+            properties.setProperty("settings", algorithm.getParameterSettings());
+            properties.setProperty("algorithmID", Integer.toString(algorithmIndex));
+            properties.setProperty("algorithmIteration", Integer.toString(algorithmIteration));
+            properties.setProperty("simplified", Boolean.toString(isSimplified(algorithmIndex)));
+            properties.setProperty("timeout", String.valueOf(tWiseEvaluator.timeout.getValue()));
+            properties.setProperty("time", String.valueOf(result.getTime()));
+            properties.setProperty("inTime", Boolean.toString(result.isTerminatedInTime()));
+            properties.setProperty("terminationReason", String.valueOf(result.getTerminationReason()));
+            properties.setProperty(
+                    "sampleSize",
+                    result.getResult() == null ? "-1" : Integer.toString(result.getResult().getSolutions().size()));
+            properties.setProperty("javaVersion", System.getProperty("java.version"));
+            properties.setProperty("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+            properties.setProperty("workingDirectory", System.getProperty("user.dir"));
+            ReplayBundle.write(bundlePath, algorithm.getCommandElements(), tWiseEvaluator.tempPath, properties);
+            if (result.getResult() != null) {
+                IO.save(
+                        result.getResult(),
+                        bundlePath.resolve("expected_sample." + sampleFormat.getFileExtension()),
+                        sampleFormat);
+            }
+        } catch (final Exception e) {
+            Logger.logError("Could not export replay bundle " + bundlePath);
+            Logger.logError(e);
+        }
+    }
+
+    private boolean isSimplified(int algorithmIndex) {
+        return algorithmIndex >= firstSimplifiedAlgorithmIndex;
+    }
+
+    /**
+     * @return the name of an algorithm as shown in logs and metrics, which distinguishes runs on the simplified model
+     */
+    private String getAlgorithmName(int algorithmIndex) {
+        final String fullName = algorithmList.get(algorithmIndex).getFullName();
+        return isSimplified(algorithmIndex) ? fullName + "_simplified" : fullName;
     }
 
     protected boolean adaptModel() {
-        final CNF randomCNF =
-                modelCNF.randomize(new Random(tWiseEvaluator.randomSeed.getValue() + tWiseEvaluator.systemIteration));
+        final Random random = new Random(tWiseEvaluator.randomSeed.getValue() + tWiseEvaluator.systemIteration);
         try {
-            IO.save(
-                    randomCNF,
-                    tWiseEvaluator.tempPath.resolve("model" + "." + modelFormat.getFileExtension()),
-                    modelFormat);
-            IO.save(
-                    randomCNF,
-                    tWiseEvaluator.outputPath.resolve(tWiseEvaluator.getSystemID() + "_"
-                            + tWiseEvaluator.systemIteration + "_rnd_model." + modelFormat.getFileExtension()),
-                    modelFormat);
+            final Path tempModelFile = tWiseEvaluator.tempPath.resolve("model" + "." + modelFormat.getFileExtension());
+            dimacsWriter.write(modelCNF.randomize(random), tempModelFile);
+            Files.copy(
+                    tempModelFile,
+                    tWiseEvaluator.outputPath.resolve(SampleFile.getModelFileName(
+                            tWiseEvaluator.getSystemID(),
+                            tWiseEvaluator.systemIteration,
+                            modelFormat.getFileExtension())),
+                    StandardCopyOption.REPLACE_EXISTING);
+            if (modelSimplifier != null) {
+                final Path tempReducedModelFile =
+                        tWiseEvaluator.tempPath.resolve("model_reduced" + "." + modelFormat.getFileExtension());
+                dimacsWriter.write(modelSimplifier.getReducedCNF().randomize(random), tempReducedModelFile);
+                Files.copy(
+                        tempReducedModelFile,
+                        tWiseEvaluator.outputPath.resolve(tWiseEvaluator.getSystemID() + "_"
+                                + tWiseEvaluator.systemIteration + "_rnd_reduced_model."
+                                + modelFormat.getFileExtension()),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             Logger.logError(e);
             return false;
@@ -302,15 +571,28 @@ public class SamplingPhase implements EvaluationPhase {
     protected void writeModel(CSVWriter modelCSVWriter) {
         modelCSVWriter.addValue(tWiseEvaluator.getSystemID());
         modelCSVWriter.addValue(tWiseEvaluator.getSystemName());
-        modelCSVWriter.addValue(modelCNF.getVariableMap().getVariableCount());
-        modelCSVWriter.addValue(modelCNF.getClauses().size());
+        modelCSVWriter.addValue(modelCNF.getVariableCount());
+        modelCSVWriter.addValue(modelCNF.getClauseCount());
+    }
+
+    protected void writeSimplification(CSVWriter simplificationCSVWriter) {
+        final CompactCNF reducedCNF = modelSimplifier.getReducedCNF();
+        simplificationCSVWriter.addValue(tWiseEvaluator.getSystemID());
+        simplificationCSVWriter.addValue(modelSimplifier.getCoreCount());
+        simplificationCSVWriter.addValue(modelSimplifier.getDeadCount());
+        simplificationCSVWriter.addValue(reducedCNF.getVariableCount());
+        simplificationCSVWriter.addValue(reducedCNF.getClauseCount());
+        simplificationCSVWriter.addValue(simplificationTime);
     }
 
     protected void writeAlgorithm(CSVWriter algorithmCSVWriter) {
         final Algorithm<?> algorithm = algorithmList.get(algorithmIndex);
         algorithmCSVWriter.addValue(algorithmIndex);
         algorithmCSVWriter.addValue(algorithm.getName());
-        algorithmCSVWriter.addValue(algorithm.getParameterSettings());
+        algorithmCSVWriter.addValue(
+                isSimplified(algorithmIndex)
+                        ? algorithm.getParameterSettings() + "_simplified"
+                        : algorithm.getParameterSettings());
     }
 
     protected void writeData(CSVWriter dataCSVWriter) {
@@ -320,8 +602,10 @@ public class SamplingPhase implements EvaluationPhase {
         dataCSVWriter.addValue(algorithmIteration);
         dataCSVWriter.addValue(result.isTerminatedInTime());
         dataCSVWriter.addValue(result.isNoError());
+        dataCSVWriter.addValue(result.getTerminationReason());
         dataCSVWriter.addValue(result.getTime());
-        dataCSVWriter.addValue(result.getResult().getSolutions().size());
+        dataCSVWriter.addValue(result.getResult() == null ? -1 : result.getResult().getSolutions().size());
+        dataCSVWriter.addValue(result.getCoreSet());
     }
 
     private void logRun() {
@@ -336,7 +620,7 @@ public class SamplingPhase implements EvaluationPhase {
         sb.append("/");
         sb.append(tWiseEvaluator.systemIterations.getValue());
         sb.append(" | ");
-        sb.append(algorithmList.get(algorithmIndex).getFullName());
+        sb.append(getAlgorithmName(algorithmIndex));
         sb.append(" (");
         sb.append(algorithmIndex + 1);
         sb.append("/");
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.evaluation.twise.util.CSVTable;
+import de.featjar.util.cli.CLIFunction;
+import de.featjar.util.logging.Logger;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the results of shards created by {@link ModelSharder} into a single result directory. As each shard is run
+ * with the complete models.txt, the model IDs in the results of all shards are already the IDs of an unsharded run.
+ * All CSV files are streamed line by line and the shards are read one after another, so the merge does not depend on
+ * the order in which the shards finished.
+ *
+ * @author Sebastian Krieter
+ */
+public class ShardMerger implements CLIFunction {
+
+    private static final Pattern FILE_ID_PATTERN = Pattern.compile("\\d+_.+");
+
+    @Override
+    public String getName() {
+        return "merge";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Merges the results of sharded evaluations";
+    }
+
+    @Override
+    public void run(List<String> args) {
+        if (args.size() < 2) {
+            Logger.logError("Usage: merge <output directory> <shard result directory>...");
+            return;
+        }
+        final Path outputPath = Paths.get(args.get(0));
+        final List<Path> shardPaths = args.subList(1, args.size()).stream()
+                .map(Paths::get)
+                .collect(Collectors.toList());
+        try {
+            checkAlgorithms(shardPaths);
+            checkModels(shardPaths);
+
+            final Map<String, BufferedWriter> csvWriters = new LinkedHashMap<>();
+            final Map<String, String> headers = new HashMap<>();
+            Files.createDirectories(outputPath.resolve("data"));
+            try {
+                for (final Path shardPath : shardPaths) {
+                    mergeCSVFiles(shardPath.resolve("data"), outputPath.resolve("data"), headers, csvWriters);
+                    copyFiles(shardPath, outputPath);
+                    Logger.logInfo("Merged " + shardPath);
+                }
+            } finally {
+                for (final BufferedWriter writer : csvWriters.values()) {
+                    writer.close();
+                }
+            }
+        } catch (final Exception e) {
+            Logger.logError(e);
+        }
+    }
+
+    /**
+     * All shards must use the same algorithms, so the algorithm IDs are valid across shards.
+     */
+    private static void checkAlgorithms(List<Path> shardPaths) throws IOException {
+        List<String> algorithms = null;
+        for (final Path shardPath : shardPaths) {
+            final List<String> shardAlgorithms = Files.readAllLines(shardPath.resolve("data/algorithms.csv"));
+            if (algorithms == null) {
+                algorithms = shardAlgorithms;
+            } else if (!algorithms.equals(shardAlgorithms)) {
+                throw new IllegalArgumentException("Algorithms of " + shardPath + " differ from previous shards");
+            }
+        }
+    }
+
+    /**
+     * Each model must be evaluated by a single shard, otherwise the same shard was given twice or the shards do not
+     * belong to the same configuration.
+     */
+    private static void checkModels(List<Path> shardPaths) throws IOException {
+        final Set<String> modelIDs = new HashSet<>();
+        for (final Path shardPath : shardPaths) {
+            CSVTable.forEachRow(shardPath.resolve("data/models.csv"), row -> {
+                if (!modelIDs.add(row.get("ModelID"))) {
+                    throw new IllegalArgumentException(
+                            "Model " + row.get("Name") + " of " + shardPath + " is contained in previous shards");
+                }
+            });
+        }
+    }
+
+    private static void mergeCSVFiles(
+            Path dataPath, Path outputDataPath, Map<String, String> headers, Map<String, BufferedWriter> csvWriters)
+            throws IOException {
+        final List<Path> csvFiles;
+        try (Stream<Path> files = Files.list(dataPath)) {
+            csvFiles = files.filter(f -> f.getFileName().toString().endsWith(".csv"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (final Path csvFile : csvFiles) {
+            final String fileName = csvFile.getFileName().toString();
+            try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+                final String headerLine = reader.readLine();
+                final String firstHeaderLine = headers.putIfAbsent(fileName, headerLine);
+                if (firstHeaderLine != null) {
+                    if (!firstHeaderLine.equals(headerLine)) {
+                        throw new IllegalArgumentException("Header of " + csvFile + " differs from previous shards");
+                    }
+                    if (fileName.equals("algorithms.csv")) {
+                        continue;
+                    }
+                }
+                final BufferedWriter writer = csvWriters.computeIfAbsent(fileName, f -> {
+                    try {
+                        return Files.newBufferedWriter(outputDataPath.resolve(f), StandardCharsets.UTF_8);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (firstHeaderLine == null) {
+                    writer.write(headerLine);
+                    writer.newLine();
+                }
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (!line.isEmpty()) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies all files that belong to a model, such as samples, logs, and replay bundles, i.e., all files outside the
+     * data directory of which the name or the name of a parent directory starts with a model ID.
+     */
+    private static void copyFiles(Path shardPath, Path outputPath) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> fileStream = Files.walk(shardPath)) {
+            files = fileStream.filter(Files::isRegularFile)
+                    .map(shardPath::relativize)
+                    .filter(f -> !f.startsWith("data"))
+                    .filter(ShardMerger::belongsToModel)
+                    .collect(Collectors.toList());
+        }
+        for (final Path file : files) {
+            final Path target = outputPath.resolve(file.toString());
+            Files.createDirectories(target.getParent());
+            Files.copy(shardPath.resolve(file), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean belongsToModel(Path relativePath) {
+        for (final Path name : relativePath) {
+            if (FILE_ID_PATTERN.matcher(name.toString()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.evaluation.twise.algorithms.ReplayAlgorithm;
+import de.featjar.evaluation.twise.process.MonitoredProcessRunner;
+import de.featjar.evaluation.twise.process.RunResult;
+import de.featjar.evaluation.twise.util.CSVTable;
+import de.featjar.evaluation.twise.util.ReplayBundle;
+import de.featjar.util.cli.CLIFunction;
+import de.featjar.util.logging.Logger;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Re-executes a replay bundle exported by the {@link SamplingPhase} and compares time and sample size with the
+ * original run. The results are written to comparison.csv in the bundle directory. Must be called from the same working
+ * directory as the original evaluation, as the recorded commands use relative class paths.
+ *
+ * @author Sebastian Krieter
+ */
+public class TWiseReplay implements CLIFunction {
+
+    @Override
+    public String getName() {
+        return "replay";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Re-executes a single run from a replay bundle";
+    }
+
+    @Override
+    public void run(List<String> args) {
+        Path bundlePath = null;
+        boolean jfr = false;
+        int iterations = 1;
+        Long timeout = null;
+        for (int i = 0; i < args.size(); i++) {
+            final String arg = args.get(i);
+            switch (arg) {
+                case "-jfr":
+                    jfr = true;
+                    break;
+                case "-iterations":
+                    iterations = Integer.parseInt(args.get(++i));
+                    break;
+                case "-timeout":
+                    timeout = Long.parseLong(args.get(++i));
+                    break;
+                default:
+                    bundlePath = Paths.get(arg);
+                    break;
+            }
+        }
+        if (bundlePath == null) {
+            Logger.logError("Usage: replay <bundle directory> [-jfr] [-iterations <n>] [-timeout <ms>]");
+            return;
+        }
+
+        try {
+            final Properties properties = ReplayBundle.readProperties(bundlePath);
+            final String workingDirectory = properties.getProperty("workingDirectory");
+            if (workingDirectory != null && !workingDirectory.equals(System.getProperty("user.dir"))) {
+                Logger.logInfo("Working directory differs from original run: " + workingDirectory);
+            }
+            final String output = properties.getProperty(ReplayBundle.OUTPUT);
+            final ReplayAlgorithm algorithm = new ReplayAlgorithm(
+                    properties.getProperty("algorithm"),
+                    properties.getProperty("settings"),
+                    ReplayBundle.readCommand(bundlePath),
+                    output == null ? null : Paths.get(ReplayBundle.resolve(bundlePath, output)));
+
+            final MonitoredProcessRunner processRunner = new MonitoredProcessRunner();
+            processRunner.setTimeout(
+                    timeout != null
+                            ? timeout
+                            : Long.parseLong(properties.getProperty("timeout", Long.toString(Long.MAX_VALUE))));
+
+            final long expectedTime = Long.parseLong(properties.getProperty("time", "0"));
+            final int expectedSampleSize = Integer.parseInt(properties.getProperty("sampleSize", "-1"));
+            try (BufferedWriter writer =
+                    Files.newBufferedWriter(bundlePath.resolve("comparison.csv"), StandardCharsets.UTF_8)) {
+                writer.write(String.join(
+                        CSVTable.SEPARATOR,
+                        "Iteration",
+                        "ExpectedTime",
+                        "Time",
+                        "TimeRatio",
+                        "ExpectedSampleSize",
+                        "SampleSize",
+                        "ExpectedInTime",
+                        "InTime",
+                        "TerminationReason"));
+                writer.newLine();
+                for (int i = 1; i <= iterations; i++) {
+                    final List<String> jvmFlags = new ArrayList<>();
+                    if (jfr) {
+                        jvmFlags.add("-XX:StartFlightRecording=filename="
+                                + bundlePath.toAbsolutePath().resolve("replay_" + i + ".jfr") + ",settings=profile");
+                    }
+                    algorithm.setJvmFlags(jvmFlags);
+                    final RunResult<SolutionList> result =
+                            processRunner.run(algorithm, bundlePath.resolve("replay_" + i + ".log.gz"));
+                    final int sampleSize = result.getResult() == null ? -1 : result.getResult().getSolutions().size();
+                    final double timeRatio = expectedTime == 0 ? 0 : (double) result.getTime() / expectedTime;
+                    writer.write(String.join(
+                            CSVTable.SEPARATOR,
+                            Integer.toString(i),
+                            Long.toString(expectedTime),
+                            Long.toString(result.getTime()),
+                            Double.toString(timeRatio),
+                            Integer.toString(expectedSampleSize),
+                            Integer.toString(sampleSize),
+                            properties.getProperty("inTime", ""),
+                            Boolean.toString(result.isTerminatedInTime()),
+                            String.valueOf(result.getTerminationReason())));
+                    writer.newLine();
+                    Logger.logInfo(String.format(
+                            "Replay %d/%d: time %d ms (expected %d ms, ratio %.2f), sample size %d (expected %d)",
+                            i,
+                            iterations,
+                            result.getTime(),
+                            expectedTime,
+                            timeRatio,
+                            sampleSize,
+                            expectedSampleSize));
+                }
+            }
+        } catch (final Exception e) {
+            Logger.logError(e);
+        }
+    }
+}
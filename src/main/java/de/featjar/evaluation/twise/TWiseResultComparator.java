@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.evaluation.twise.util.CSVTable;
+import de.featjar.evaluation.twise.util.MannWhitneyU;
+import de.featjar.util.cli.CLIFunction;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compares the results of two evaluations and reports cells, i.e., combinations of model and algorithm, whose time or
+ * sample size got significantly worse, whose rate of failed or timed out runs increased, or that are missing in the
+ * candidate. Cells are matched by model name and algorithm name and settings. Exits with status 1 if any regression
+ * exceeds the thresholds.
+ *
+ * @author Sebastian Krieter
+ */
+public class TWiseResultComparator implements CLIFunction {
+
+    /**
+     * The order in which regressions are reported. The change of each metric has a different scale, so changes are
+     * only compared within the same metric.
+     */
+    private static final List<String> METRICS = Arrays.asList("Missing", "Failures", "Time", "SampleSize");
+
+    private static class Cell {
+        private final List<Double> times = new ArrayList<>();
+        private final List<Double> sampleSizes = new ArrayList<>();
+        private int failures;
+
+        private double getFailureRate() {
+            final int runs = times.size() + failures;
+            return runs == 0 ? 0 : (double) failures / runs;
+        }
+    }
+
+    private static class Comparison {
+        private final String cell;
+        private final String metric;
+        private final double baselineMedian, candidateMedian, change, pValue;
+
+        private Comparison(String cell, String metric, double[] baseline, double[] candidate) {
+            this.cell = cell;
+            this.metric = metric;
+            baselineMedian = median(baseline);
+            candidateMedian = median(candidate);
+            change = baselineMedian == 0
+                    ? (candidateMedian == 0 ? 0 : Double.POSITIVE_INFINITY)
+                    : (candidateMedian - baselineMedian) / baselineMedian;
+            pValue = MannWhitneyU.test(baseline, candidate);
+        }
+
+        private Comparison(String cell, String metric, double baselineValue, double candidateValue, double change) {
+            this.cell = cell;
+            this.metric = metric;
+            baselineMedian = baselineValue;
+            candidateMedian = candidateValue;
+            this.change = change;
+            pValue = Double.NaN;
+        }
+    }
+
+    private double alpha = 0.05;
+    private double timeThreshold = 0.1;
+    private double sizeThreshold = 0.0;
+    private double failureThreshold = 0.0;
+
+    @Override
+    public String getName() {
+        return "compare";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Compares time and sample size of two result directories";
+    }
+
+    @Override
+    public void run(List<String> args) {
+        final List<String> paths = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            final String arg = args.get(i);
+            switch (arg) {
+                case "-alpha":
+                    alpha = Double.parseDouble(args.get(++i));
+                    break;
+                case "-time":
+                    timeThreshold = Double.parseDouble(args.get(++i));
+                    break;
+                case "-size":
+                    sizeThreshold = Double.parseDouble(args.get(++i));
+                    break;
+                case "-failures":
+                    failureThreshold = Double.parseDouble(args.get(++i));
+                    break;
+                default:
+                    paths.add(arg);
+                    break;
+            }
+        }
+        if (paths.size() != 2) {
+            Logger.logError("Usage: compare <baseline> <candidate> [-alpha <p>] [-time <ratio>] [-size <ratio>]"
+                    + " [-failures <ratio>]");
+            System.exit(2);
+            return;
+        }
+
+        final Map<String, Cell> baseline, candidate;
+        try {
+            baseline = readCells(getDataPath(Paths.get(paths.get(0))));
+            candidate = readCells(getDataPath(Paths.get(paths.get(1))));
+        } catch (final Exception e) {
+            Logger.logError(e);
+            System.exit(2);
+            return;
+        }
+
+        final List<Comparison> regressions = new ArrayList<>();
+        int matchedCells = 0;
+        for (final Entry<String, Cell> entry : baseline.entrySet()) {
+            final Cell candidateCell = candidate.get(entry.getKey());
+            if (candidateCell == null) {
+                regressions.add(new Comparison(entry.getKey(), "Missing", 1, 0, Double.POSITIVE_INFINITY));
+                continue;
+            }
+            matchedCells++;
+            final Cell baselineCell = entry.getValue();
+            final double baselineFailureRate = baselineCell.getFailureRate();
+            final double candidateFailureRate = candidateCell.getFailureRate();
+            if (candidateFailureRate - baselineFailureRate > failureThreshold) {
+                regressions.add(new Comparison(
+                        entry.getKey(),
+                        "Failures",
+                        baselineCell.failures,
+                        candidateCell.failures,
+                        candidateFailureRate - baselineFailureRate));
+            }
+            final Comparison time =
+                    new Comparison(entry.getKey(), "Time", toArray(baselineCell.times), toArray(candidateCell.times));
+            if (isRegression(time, timeThreshold)) {
+                regressions.add(time);
+            }
+            final Comparison size = new Comparison(
+                    entry.getKey(),
+                    "SampleSize",
+                    toArray(baselineCell.sampleSizes),
+                    toArray(candidateCell.sampleSizes));
+            if (isRegression(size, sizeThreshold)) {
+                regressions.add(size);
+            }
+        }
+        regressions.sort(Comparator.comparingInt((Comparison c) -> METRICS.indexOf(c.metric))
+                .thenComparing(Comparator.comparingDouble((Comparison c) -> c.change).reversed()));
+
+        Logger.logInfo("Matched cells: " + matchedCells + " (baseline " + baseline.size() + ", candidate "
+                + candidate.size() + ")");
+        Logger.logInfo("Regressions: " + regressions.size());
+        for (final Comparison regression : regressions) {
+            Logger.logInfo(String.format(
+                    Locale.ENGLISH,
+                    "%+8.1f%% %-10s %12.1f -> %12.1f (p = %s) %s",
+                    regression.change * 100,
+                    regression.metric,
+                    regression.baselineMedian,
+                    regression.candidateMedian,
+                    Double.isNaN(regression.pValue) ? "n/a" : String.format(Locale.ENGLISH, "%.4f", regression.pValue),
+                    regression.cell));
+        }
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private boolean isRegression(Comparison comparison, double threshold) {
+        return comparison.change > threshold && comparison.pValue < alpha;
+    }
+
+    private static Path getDataPath(Path resultPath) {
+        final Path dataPath = resultPath.resolve("data");
+        return Files.exists(dataPath.resolve("data.csv")) ? dataPath : resultPath;
+    }
+
+    private static Map<String, Cell> readCells(Path dataPath) throws IOException {
+        final Map<String, String> models = new HashMap<>();
+        CSVTable.forEachRow(dataPath.resolve("models.csv"), row -> models.put(row.get("ModelID"), row.get("Name")));
+        final Map<String, String> algorithms = new HashMap<>();
+        CSVTable.forEachRow(
+                dataPath.resolve("algorithms.csv"),
+                row -> algorithms.put(row.get("AlgorithmID"), row.get("Name") + "_" + row.get("Settings")));
+
+        final Map<String, Cell> cells = new LinkedHashMap<>();
+        CSVTable.forEachRow(dataPath.resolve("data.csv"), row -> {
+            final String key =
+                    models.get(row.get("ModelID")) + " | " + algorithms.get(row.get("AlgorithmID"));
+            final Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            if (Boolean.parseBoolean(row.get("InTime")) && Boolean.parseBoolean(row.get("Success"))) {
+                cell.times.add(Double.parseDouble(row.get("Time")));
+                cell.sampleSizes.add(Double.parseDouble(row.get("SampleSize")));
+            } else {
+                cell.failures++;
+            }
+        });
+        return cells;
+    }
+
+    private static double[] toArray(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final int middle = sorted.length / 2;
+        return sorted.length % 2 == 0 ? (sorted[middle - 1] + sorted[middle]) / 2 : sorted[middle];
+    }
+}
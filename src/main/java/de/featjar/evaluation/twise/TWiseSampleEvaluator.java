@@ -23,18 +23,60 @@ package de.featjar.evaluation.twise;
 import de.featjar.evaluation.Evaluator;
 import de.featjar.evaluation.properties.ListProperty;
 import de.featjar.evaluation.properties.Property;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
 
 public class TWiseSampleEvaluator extends Evaluator {
 
     ListProperty<Integer> tProperty = new ListProperty<>("t", Property.IntegerConverter);
     ListProperty<String> algorithmsProperty = new ListProperty<>("algorithm", Property.StringConverter);
+    Property<Integer> threadsProperty = new Property<>("threads", Property.IntegerConverter, 0);
+    Property<Boolean> simplifyProperty = new Property<>("simplify", Property.BooleanConverter, false);
+    Property<Integer> metricsPortProperty = new Property<>("metricsPort", Property.IntegerConverter, 0);
+    Property<Integer> stallWindowProperty = new Property<>("stallWindow", Property.IntegerConverter, 0);
+    Property<Integer> memoryLimitProperty = new Property<>("memoryLimit", Property.IntegerConverter, 0);
+    Property<Integer> childLogLimitProperty = new Property<>("childLogLimit", Property.IntegerConverter, 16);
+    Property<Integer> isolationCoresProperty = new Property<>("isolationCores", Property.IntegerConverter, 0);
+    Property<String> cGroupPathProperty = new Property<>("cgroup", Property.StringConverter, "");
+    Property<Integer> replayThresholdProperty = new Property<>("replayThreshold", Property.IntegerConverter, 0);
+    Property<String> shardModelsProperty = new Property<>("shardModels", Property.StringConverter, "");
 
     int maxT;
+    private Set<String> shardModels;
 
     @Override
     protected void initConstants() {
         super.initConstants();
         maxT = tProperty.getValue().stream().mapToInt(Integer::intValue).max().getAsInt();
+        final String shardModelsFile = shardModelsProperty.getValue();
+        if (!shardModelsFile.isEmpty()) {
+            try {
+                shardModels = new HashSet<>(Files.readAllLines(configPath.resolve(shardModelsFile)));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Sharded configurations list all models, such that model IDs are the same as in an unsharded run, but only
+     * evaluate the models of their shard.
+     *
+     * @return whether the current system is evaluated by this configuration
+     */
+    boolean isInShard() {
+        return shardModels == null || shardModels.contains(getSystemName());
+    }
+
+    /**
+     * @return the number of threads used by the analysis phases; all available processors if not set
+     */
+    int getThreadCount() {
+        final int threads = threadsProperty.getValue();
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
     }
 
     @Override
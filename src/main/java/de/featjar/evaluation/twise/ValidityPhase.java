@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise;
+
+import de.featjar.clauses.CNF;
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.clauses.solutions.io.PartialListFormat;
+import de.featjar.evaluation.EvaluationPhase;
+import de.featjar.evaluation.Evaluator;
+import de.featjar.evaluation.twise.util.BitValidityChecker;
+import de.featjar.evaluation.twise.util.BitValidityChecker.Validity;
+import de.featjar.evaluation.twise.util.SampleFile;
+import de.featjar.evaluation.twise.util.Samples;
+import de.featjar.formula.io.dimacs.DIMACSFormatCNF;
+import de.featjar.util.data.Result;
+import de.featjar.util.io.IO;
+import de.featjar.util.io.csv.CSVWriter;
+import de.featjar.util.logging.Logger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Checks whether all configurations of the samples computed by the {@link SamplingPhase} are valid with regard to
+ * their randomized model.
+ *
+ * @author Sebastian Krieter
+ */
+public class ValidityPhase implements EvaluationPhase {
+
+    private static class SampleValidity {
+        private final SampleFile sampleFile;
+        private final int sampleSize;
+        private final Validity validity;
+
+        private SampleValidity(SampleFile sampleFile, int sampleSize, Validity validity) {
+            this.sampleFile = sampleFile;
+            this.sampleSize = sampleSize;
+            this.validity = validity;
+        }
+    }
+
+    private final DIMACSFormatCNF modelFormat = new DIMACSFormatCNF();
+    private final PartialListFormat sampleFormat = new PartialListFormat();
+
+    private SampleValidity sampleValidity;
+
+    @Override
+    public void run(Evaluator evaluator) {
+        final TWiseSampleEvaluator tWiseEvaluator = (TWiseSampleEvaluator) evaluator;
+
+        final CSVWriter validityWriter = evaluator.addCSVWriter(
+                "validity.csv",
+                "ModelID",
+                "AlgorithmID",
+                "SystemIteration",
+                "AlgorithmIteration",
+                "SampleSize",
+                "InvalidConfigurations",
+                "ViolatedClauses");
+        validityWriter.setLineWriter(this::writeValidity);
+
+        evaluator.tabFormatter.setTabLevel(0);
+        Logger.logInfo("Start");
+
+        final List<SampleFile> sampleFiles;
+        try {
+            sampleFiles = SampleFile.list(tWiseEvaluator.outputPath, sampleFormat.getFileExtension());
+        } catch (final Exception e) {
+            Logger.logError("Could not list sample files in " + tWiseEvaluator.outputPath);
+            Logger.logError(e);
+            return;
+        }
+
+        final Map<Path, List<SampleFile>> sampleFilesByModel = sampleFiles.stream()
+                .collect(Collectors.groupingBy(
+                        sampleFile -> sampleFile.getModelPath(modelFormat.getFileExtension()),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+
+        final ForkJoinPool pool = new ForkJoinPool(tWiseEvaluator.getThreadCount());
+        final List<SampleValidity> results = new ArrayList<>(sampleFiles.size());
+        try {
+            for (final Entry<Path, List<SampleFile>> entry : sampleFilesByModel.entrySet()) {
+                final Result<CNF> model = IO.load(entry.getKey(), modelFormat);
+                if (model.isEmpty()) {
+                    Logger.logError("Could not read model file " + entry.getKey());
+                    Logger.logProblems(model.getProblems());
+                    continue;
+                }
+                final CNF cnf = model.get();
+                final BitValidityChecker checker = new BitValidityChecker(
+                        cnf.getClauses().stream().map(LiteralList::getLiterals).collect(Collectors.toList()),
+                        cnf.getVariableMap().getVariableCount());
+                results.addAll(pool.submit(() -> entry.getValue().parallelStream()
+                                .map(sampleFile -> check(sampleFile, cnf, checker))
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList()))
+                        .get());
+            }
+        } catch (final Exception e) {
+            Logger.logError(e);
+            return;
+        } finally {
+            pool.shutdown();
+        }
+
+        evaluator.tabFormatter.setTabLevel(1);
+        for (final SampleValidity result : results) {
+            sampleValidity = result;
+            validityWriter.writeLine();
+            if (result.validity.getInvalidConfigurations() > 0) {
+                Logger.logInfo(result.sampleFile + ": " + result.validity.getInvalidConfigurations() + "/"
+                        + result.sampleSize + " invalid configurations");
+            }
+        }
+        evaluator.tabFormatter.setTabLevel(0);
+        Logger.logInfo("Finished");
+    }
+
+    /**
+     * Checks a sample against its model. The model and the checker are shared by all samples of the same model.
+     */
+    private SampleValidity check(SampleFile sampleFile, CNF cnf, BitValidityChecker checker) {
+        final Result<SolutionList> sample = IO.load(sampleFile.getPath(), sampleFormat);
+        if (sample.isEmpty()) {
+            Logger.logError("Could not read sample file " + sampleFile);
+            Logger.logProblems(sample.getProblems());
+            return null;
+        }
+        final List<int[]> configurations = Samples.adapt(sample.get(), cnf.getVariableMap());
+        return new SampleValidity(sampleFile, configurations.size(), checker.check(configurations));
+    }
+
+    protected void writeValidity(CSVWriter validityCSVWriter) {
+        validityCSVWriter.addValue(sampleValidity.sampleFile.getModelID());
+        validityCSVWriter.addValue(sampleValidity.sampleFile.getAlgorithmIndex());
+        validityCSVWriter.addValue(sampleValidity.sampleFile.getSystemIteration());
+        validityCSVWriter.addValue(sampleValidity.sampleFile.getAlgorithmIteration());
+        validityCSVWriter.addValue(sampleValidity.sampleSize);
+        validityCSVWriter.addValue(sampleValidity.validity.getInvalidConfigurations());
+        validityCSVWriter.addValue(Arrays.stream(sampleValidity.validity.getViolatedClauses())
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(",")));
+    }
+}
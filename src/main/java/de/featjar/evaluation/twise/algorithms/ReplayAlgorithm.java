@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.algorithms;
+
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.clauses.solutions.io.ListFormat;
+import de.featjar.evaluation.process.Algorithm;
+import de.featjar.util.data.Result;
+import de.featjar.util.io.IO;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Re-executes the recorded command of a replay bundle. Additional JVM flags, e.g., for profiling, are inserted directly
+ * after the {@code java} executable.
+ */
+public class ReplayAlgorithm extends Algorithm<SolutionList> {
+
+    private final String name;
+    private final String parameterSettings;
+    private final List<String> command;
+    private final Path outputFile;
+    private List<String> jvmFlags = List.of();
+
+    public ReplayAlgorithm(String name, String parameterSettings, List<String> command, Path outputFile) {
+        this.name = name;
+        this.parameterSettings = parameterSettings;
+        this.command = command;
+        this.outputFile = outputFile;
+    }
+
+    @Override
+    protected void addCommandElements() {
+        boolean flagsAdded = false;
+        for (final String element : command) {
+            addCommandElement(element);
+            if (!flagsAdded && element.equals("java")) {
+                jvmFlags.forEach(this::addCommandElement);
+                flagsAdded = true;
+            }
+        }
+    }
+
+    @Override
+    public void postProcess() {
+        if (outputFile != null) {
+            try {
+                Files.deleteIfExists(outputFile);
+            } catch (final IOException e) {
+                Logger.logError(e);
+            }
+        }
+    }
+
+    @Override
+    public SolutionList parseResults() throws IOException {
+        if (outputFile == null) {
+            return new SolutionList();
+        }
+        final Result<SolutionList> parse = IO.load(outputFile, new ListFormat());
+        if (parse.isEmpty()) {
+            Logger.logProblems(parse.getProblems());
+            throw new IOException();
+        }
+        return parse.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getParameterSettings() {
+        return parameterSettings;
+    }
+
+    public List<String> getJvmFlags() {
+        return jvmFlags;
+    }
+
+    public void setJvmFlags(List<String> jvmFlags) {
+        this.jvmFlags = jvmFlags;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.monitor;
+
+import de.featjar.evaluation.twise.util.ProcessStats;
+import de.featjar.util.logging.Logger;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the progress of a running evaluation. The projected finish time is estimated from the rolling mean time
+ * of each algorithm and its number of remaining runs.
+ *
+ * @author Sebastian Krieter
+ */
+public class EvaluationProgress implements EvaluationProgressMXBean {
+
+    public static final String OBJECT_NAME = "de.featjar.evaluation:type=EvaluationProgress";
+
+    private static final int WINDOW_SIZE = 20;
+
+    private final List<String> algorithmNames;
+    private final long[] remainingRuns;
+    private final ArrayDeque<Long>[] recentTimes;
+    private final long runsTotal;
+
+    private long runsCompleted, timeouts;
+    private String currentRun = "";
+
+    private ObjectName objectName;
+
+    /**
+     * @param algorithmNames the names of all algorithms
+     * @param runsPerAlgorithm the total number of runs of each algorithm
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EvaluationProgress(List<String> algorithmNames, long[] runsPerAlgorithm) {
+        this.algorithmNames = algorithmNames;
+        remainingRuns = runsPerAlgorithm.clone();
+        recentTimes = new ArrayDeque[algorithmNames.size()];
+        long total = 0;
+        for (int i = 0; i < recentTimes.length; i++) {
+            recentTimes[i] = new ArrayDeque<>(WINDOW_SIZE);
+            total += runsPerAlgorithm[i];
+        }
+        runsTotal = total;
+    }
+
+    public void register() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (final Exception e) {
+            Logger.logError("Could not register progress MBean");
+            Logger.logError(e);
+        }
+    }
+
+    public void unregister() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (final Exception e) {
+                Logger.logError(e);
+            }
+            objectName = null;
+        }
+    }
+
+    public synchronized void startRun(String description) {
+        currentRun = description;
+    }
+
+    public synchronized void finishRun(int algorithmIndex, long time, boolean inTime) {
+        runsCompleted++;
+        remainingRuns[algorithmIndex]--;
+        if (!inTime) {
+            timeouts++;
+        }
+        final ArrayDeque<Long> times = recentTimes[algorithmIndex];
+        if (times.size() == WINDOW_SIZE) {
+            times.removeFirst();
+        }
+        times.addLast(time);
+        currentRun = "";
+    }
+
+    /**
+     * Marks runs as skipped, e.g., because a model could not be read.
+     *
+     * @param algorithmIndex the algorithm
+     * @param count the number of skipped runs
+     */
+    public synchronized void skipRuns(int algorithmIndex, long count) {
+        remainingRuns[algorithmIndex] -= count;
+    }
+
+    @Override
+    public long getRunsTotal() {
+        return runsTotal;
+    }
+
+    @Override
+    public synchronized long getRunsCompleted() {
+        return runsCompleted;
+    }
+
+    @Override
+    public synchronized long getRunsRemaining() {
+        long remaining = 0;
+        for (final long runs : remainingRuns) {
+            remaining += runs;
+        }
+        return remaining;
+    }
+
+    @Override
+    public synchronized long getTimeouts() {
+        return timeouts;
+    }
+
+    @Override
+    public synchronized String getCurrentRun() {
+        return currentRun;
+    }
+
+    @Override
+    public synchronized Map<String, Double> getMeanTimes() {
+        final Map<String, Double> meanTimes = new LinkedHashMap<>();
+        for (int i = 0; i < recentTimes.length; i++) {
+            final double mean = getMeanTime(i);
+            if (mean >= 0) {
+                meanTimes.put(algorithmNames.get(i), mean);
+            }
+        }
+        return meanTimes;
+    }
+
+    @Override
+    public Map<Long, Long> getChildProcesses() {
+        final Map<Long, Long> childProcesses = new LinkedHashMap<>();
+        ProcessHandle.current()
+                .descendants()
+                .filter(ProcessHandle::isAlive)
+                .forEach(p -> childProcesses.put(p.pid(), ProcessStats.getResidentSetSize(p.pid())));
+        return childProcesses;
+    }
+
+    @Override
+    public synchronized String getProjectedFinish() {
+        double overallMean = 0;
+        int measuredAlgorithms = 0;
+        for (int i = 0; i < recentTimes.length; i++) {
+            final double mean = getMeanTime(i);
+            if (mean >= 0) {
+                overallMean += mean;
+                measuredAlgorithms++;
+            }
+        }
+        if (measuredAlgorithms == 0) {
+            return "";
+        }
+        overallMean /= measuredAlgorithms;
+
+        double remainingTime = 0;
+        for (int i = 0; i < remainingRuns.length; i++) {
+            final double mean = getMeanTime(i);
+            remainingTime += remainingRuns[i] * (mean >= 0 ? mean : overallMean);
+        }
+        return Instant.now().plusMillis((long) remainingTime).toString();
+    }
+
+    private double getMeanTime(int algorithmIndex) {
+        final ArrayDeque<Long> times = recentTimes[algorithmIndex];
+        if (times.isEmpty()) {
+            return -1;
+        }
+        double sum = 0;
+        for (final Long time : times) {
+            sum += time;
+        }
+        return sum / times.size();
+    }
+}
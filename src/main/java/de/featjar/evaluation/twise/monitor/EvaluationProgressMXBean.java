@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.monitor;
+
+import java.util.Map;
+
+/**
+ * Management interface reporting the progress of a running evaluation.
+ *
+ * @author Sebastian Krieter
+ */
+public interface EvaluationProgressMXBean {
+
+    long getRunsTotal();
+
+    long getRunsCompleted();
+
+    long getRunsRemaining();
+
+    long getTimeouts();
+
+    String getCurrentRun();
+
+    /**
+     * @return the rolling mean time in milliseconds per algorithm
+     */
+    Map<String, Double> getMeanTimes();
+
+    /**
+     * @return the resident set size in bytes per running child process id
+     */
+    Map<Long, Long> getChildProcesses();
+
+    /**
+     * @return the projected finish time in ISO-8601 format, or an empty string if no run has finished yet
+     */
+    String getProjectedFinish();
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.monitor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map.Entry;
+
+/**
+ * Serves the current {@link EvaluationProgress} on the loopback interface. {@code /metrics} returns the Prometheus
+ * text format, {@code /status} returns JSON.
+ *
+ * @author Sebastian Krieter
+ */
+public class MetricsServer {
+
+    private final EvaluationProgress progress;
+    private HttpServer server;
+
+    public MetricsServer(EvaluationProgress progress) {
+        this.progress = progress;
+    }
+
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", e -> respond(e, "text/plain; version=0.0.4", getPrometheusText()));
+        server.createContext("/status", e -> respond(e, "application/json", getJSON()));
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String getPrometheusText() {
+        final StringBuilder sb = new StringBuilder();
+        appendMetric(sb, "evaluation_runs_planned", "gauge", progress.getRunsTotal());
+        appendMetric(sb, "evaluation_runs_completed_total", "counter", progress.getRunsCompleted());
+        appendMetric(sb, "evaluation_runs_remaining", "gauge", progress.getRunsRemaining());
+        appendMetric(sb, "evaluation_timeouts_total", "counter", progress.getTimeouts());
+
+        sb.append("# TYPE evaluation_algorithm_mean_time_seconds gauge\n");
+        for (final Entry<String, Double> entry : progress.getMeanTimes().entrySet()) {
+            sb.append("evaluation_algorithm_mean_time_seconds{algorithm=\"")
+                    .append(escape(entry.getKey()))
+                    .append("\"} ")
+                    .append(entry.getValue() / 1000)
+                    .append('\n');
+        }
+        sb.append("# TYPE evaluation_child_rss_bytes gauge\n");
+        for (final Entry<Long, Long> entry : progress.getChildProcesses().entrySet()) {
+            sb.append("evaluation_child_rss_bytes{pid=\"")
+                    .append(entry.getKey())
+                    .append("\"} ")
+                    .append(entry.getValue())
+                    .append('\n');
+        }
+        final String projectedFinish = progress.getProjectedFinish();
+        if (!projectedFinish.isEmpty()) {
+            appendMetric(
+                    sb,
+                    "evaluation_projected_finish_seconds",
+                    "gauge",
+                    Instant.parse(projectedFinish).getEpochSecond());
+        }
+        return sb.toString();
+    }
+
+    private static void appendMetric(StringBuilder sb, String name, String type, long value) {
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private String getJSON() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"runsTotal\":").append(progress.getRunsTotal());
+        sb.append(",\"runsCompleted\":").append(progress.getRunsCompleted());
+        sb.append(",\"runsRemaining\":").append(progress.getRunsRemaining());
+        sb.append(",\"timeouts\":").append(progress.getTimeouts());
+        sb.append(",\"currentRun\":\"").append(escape(progress.getCurrentRun())).append('"');
+        sb.append(",\"meanTimes\":{");
+        String separator = "";
+        for (final Entry<String, Double> entry : progress.getMeanTimes().entrySet()) {
+            sb.append(separator)
+                    .append('"')
+                    .append(escape(entry.getKey()))
+                    .append("\":")
+                    .append(entry.getValue());
+            separator = ",";
+        }
+        sb.append("},\"childProcesses\":{");
+        separator = "";
+        for (final Entry<Long, Long> entry : progress.getChildProcesses().entrySet()) {
+            sb.append(separator)
+                    .append('"')
+                    .append(entry.getKey())
+                    .append("\":")
+                    .append(entry.getValue());
+            separator = ",";
+        }
+        sb.append("},\"projectedFinish\":\"")
+                .append(progress.getProjectedFinish())
+                .append("\"}");
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
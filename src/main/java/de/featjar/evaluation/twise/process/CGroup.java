@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A cgroup v2 for a single child process with CPU, cpuset, and memory limits. The parent cgroup must be delegated to
+ * the current user.
+ *
+ * @author Sebastian Krieter
+ */
+public class CGroup {
+
+    private static final long CPU_PERIOD = 100_000;
+    private static final long MEMORY_HEADROOM_DIVISOR = 4;
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final Path path;
+
+    private CGroup(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Creates a new cgroup below the given parent.
+     *
+     * @param parent the parent cgroup
+     * @param coreSet the cores of the child process
+     * @param memoryLimit the memory limit of the watchdog in bytes, 0 for no limit. The hard limit of the cgroup is
+     *     set slightly above this limit, such that the watchdog usually terminates the process first.
+     * @return the cgroup
+     * @throws IOException if the cgroup cannot be created or configured
+     */
+    public static CGroup create(Path parent, CoreAllocator.CoreSet coreSet, long memoryLimit) throws IOException {
+        try {
+            Files.writeString(parent.resolve("cgroup.subtree_control"), "+cpu +cpuset +memory");
+        } catch (final IOException e) {
+            Logger.logDebug("Could not enable controllers in " + parent + ": " + e.getMessage());
+        }
+        final Path path = parent.resolve("run-" + ProcessHandle.current().pid() + "-" + counter.incrementAndGet());
+        Files.createDirectory(path);
+        final CGroup cGroup = new CGroup(path);
+        cGroup.write("cpuset.cpus", coreSet.getCpuList());
+        cGroup.write("cpuset.mems", Integer.toString(coreSet.getNode()));
+        cGroup.write("cpu.max", (coreSet.getCoreCount() * CPU_PERIOD) + " " + CPU_PERIOD);
+        if (memoryLimit > 0) {
+            cGroup.write("memory.max", Long.toString(memoryLimit + memoryLimit / MEMORY_HEADROOM_DIVISOR));
+            try {
+                cGroup.write("memory.swap.max", "0");
+            } catch (final IOException e) {
+                Logger.logDebug("Could not disable swap for " + path + ": " + e.getMessage());
+            }
+        }
+        return cGroup;
+    }
+
+    private void write(String file, String value) throws IOException {
+        Files.writeString(path.resolve(file), value);
+    }
+
+    /**
+     * @return whether the kernel killed a process of this cgroup because it exceeded the memory limit
+     */
+    public boolean isOOMKilled() {
+        try {
+            for (final String line : Files.readAllLines(path.resolve("memory.events"))) {
+                final String[] values = line.split(" ");
+                if (values.length == 2 && values[0].equals("oom_kill")) {
+                    return Long.parseLong(values[1]) > 0;
+                }
+            }
+        } catch (final IOException | NumberFormatException e) {
+            Logger.logDebug("Could not read memory events of " + path + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * @return the file the process id of a process has to be written to in order to move it into this cgroup
+     */
+    public Path getProcsFile() {
+        return path.resolve("cgroup.procs");
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            Logger.logError("Could not remove cgroup " + path);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
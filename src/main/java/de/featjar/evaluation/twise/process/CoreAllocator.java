@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import de.featjar.evaluation.twise.process.CpuTopology.Core;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns dedicated sets of physical cores to child processes. A core set never spans NUMA nodes and only uses the
+ * first logical CPU of each core, such that its SMT siblings stay idle. The first core is reserved for the
+ * orchestrating process, which can be pinned to it with {@link #pinCurrentProcess()}.
+ *
+ * @author Sebastian Krieter
+ */
+public class CoreAllocator {
+
+    /**
+     * Physical cores leased to one child process.
+     */
+    public static class CoreSet {
+        private final int node;
+        private final List<Core> cores;
+
+        private CoreSet(int node, List<Core> cores) {
+            this.node = node;
+            this.cores = cores;
+        }
+
+        public int getNode() {
+            return node;
+        }
+
+        public int getCoreCount() {
+            return cores.size();
+        }
+
+        /**
+         * @return the logical CPUs to pin to in the format of taskset, e.g., {@code 2,4}
+         */
+        public String getCpuList() {
+            return cores.stream().map(c -> c.getCpus().get(0).toString()).collect(Collectors.joining(","));
+        }
+
+        @Override
+        public String toString() {
+            return getCpuList() + "@" + node;
+        }
+    }
+
+    private final Map<Integer, List<Core>> freeCores = new TreeMap<>();
+    private final int coresPerSet;
+    private final Core reservedCore;
+    private String originalAffinity;
+
+    /**
+     * @param topology the CPU topology
+     * @param coresPerSet the number of physical cores per child process
+     */
+    public CoreAllocator(CpuTopology topology, int coresPerSet) {
+        this.coresPerSet = Math.max(1, coresPerSet);
+        final List<Core> cores = topology.getCores();
+        reservedCore = cores.get(0);
+        for (int i = 1; i < cores.size(); i++) {
+            final Core core = cores.get(i);
+            freeCores.computeIfAbsent(core.getNode(), n -> new ArrayList<>()).add(core);
+        }
+        if (freeCores.values().stream().allMatch(c -> c.size() < this.coresPerSet)) {
+            throw new IllegalArgumentException("No NUMA node has " + this.coresPerSet + " free cores");
+        }
+    }
+
+    /**
+     * Leases a core set, waiting until enough cores on one NUMA node are free.
+     *
+     * @return the core set
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public synchronized CoreSet acquire() throws InterruptedException {
+        while (true) {
+            for (final Map.Entry<Integer, List<Core>> entry : freeCores.entrySet()) {
+                final List<Core> nodeCores = entry.getValue();
+                if (nodeCores.size() >= coresPerSet) {
+                    final List<Core> leased = new ArrayList<>(nodeCores.subList(0, coresPerSet));
+                    nodeCores.subList(0, coresPerSet).clear();
+                    return new CoreSet(entry.getKey(), leased);
+                }
+            }
+            wait();
+        }
+    }
+
+    public synchronized void release(CoreSet coreSet) {
+        final List<Core> nodeCores = freeCores.get(coreSet.node);
+        nodeCores.addAll(coreSet.cores);
+        nodeCores.sort((a, b) -> a.getCpus().get(0) - b.getCpus().get(0));
+        notifyAll();
+    }
+
+    /**
+     * Pins all threads of the current process to the reserved core. Threads started later inherit the affinity.
+     *
+     * @throws IOException if taskset fails
+     * @throws InterruptedException if the current thread is interrupted while waiting for taskset
+     */
+    public void pinCurrentProcess() throws IOException, InterruptedException {
+        final String pid = Long.toString(ProcessHandle.current().pid());
+        final String affinity = taskset("-p", pid);
+        originalAffinity = affinity.substring(affinity.lastIndexOf(':') + 1).trim();
+        taskset("-a", "-p", "-c", reservedCore.getCpus().get(0).toString(), pid);
+    }
+
+    /**
+     * Restores the affinity of the current process from before {@link #pinCurrentProcess()}.
+     *
+     * @throws IOException if taskset fails
+     * @throws InterruptedException if the current thread is interrupted while waiting for taskset
+     */
+    public void unpinCurrentProcess() throws IOException, InterruptedException {
+        if (originalAffinity != null) {
+            taskset("-a", "-p", originalAffinity, Long.toString(ProcessHandle.current().pid()));
+            originalAffinity = null;
+        }
+    }
+
+    private static String taskset(String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add("taskset");
+        command.addAll(Arrays.asList(args));
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) {
+            throw new IOException("taskset failed: " + output.trim());
+        }
+        return output;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Physical cores of a Linux machine, read from sysfs. Logical CPUs that are SMT siblings are grouped into one
+ * physical core, and each core is assigned to its NUMA node.
+ *
+ * @author Sebastian Krieter
+ */
+public class CpuTopology {
+
+    private static final Path CPU_PATH = Paths.get("/sys/devices/system/cpu");
+    private static final Path NODE_PATH = Paths.get("/sys/devices/system/node");
+
+    /**
+     * A physical core with all of its logical CPUs.
+     */
+    public static class Core {
+        private final int node;
+        private final List<Integer> cpus;
+
+        private Core(int node, List<Integer> cpus) {
+            this.node = node;
+            this.cpus = cpus;
+        }
+
+        public int getNode() {
+            return node;
+        }
+
+        public List<Integer> getCpus() {
+            return cpus;
+        }
+    }
+
+    private final List<Core> cores;
+
+    private CpuTopology(List<Core> cores) {
+        this.cores = cores;
+    }
+
+    /**
+     * Reads the topology of the current machine.
+     *
+     * @return the topology
+     * @throws IOException if sysfs cannot be read
+     */
+    public static CpuTopology read() throws IOException {
+        final Map<Integer, Integer> nodeOfCpu = new TreeMap<>();
+        if (Files.isDirectory(NODE_PATH)) {
+            try (Stream<Path> nodes = Files.list(NODE_PATH)) {
+                for (final Path node : nodes.filter(p -> p.getFileName().toString().matches("node\\d+"))
+                        .collect(Collectors.toList())) {
+                    final int nodeID = Integer.parseInt(node.getFileName().toString().substring(4));
+                    for (final int cpu : parseList(readFirstLine(node.resolve("cpulist")))) {
+                        nodeOfCpu.put(cpu, nodeID);
+                    }
+                }
+            }
+        }
+
+        final Map<String, List<Integer>> siblings = new TreeMap<>();
+        for (final int cpu : parseList(readFirstLine(CPU_PATH.resolve("online")))) {
+            final Path siblingFile = CPU_PATH.resolve("cpu" + cpu).resolve("topology").resolve("thread_siblings_list");
+            final List<Integer> siblingCpus =
+                    Files.exists(siblingFile) ? parseList(readFirstLine(siblingFile)) : List.of(cpu);
+            siblings.putIfAbsent(siblingCpus.toString(), siblingCpus);
+        }
+
+        final List<Core> cores = new ArrayList<>();
+        for (final List<Integer> cpus : siblings.values()) {
+            cores.add(new Core(nodeOfCpu.getOrDefault(cpus.get(0), 0), cpus));
+        }
+        cores.sort((a, b) -> a.cpus.get(0) - b.cpus.get(0));
+        return new CpuTopology(Collections.unmodifiableList(cores));
+    }
+
+    /**
+     * Parses a CPU list in the format of sysfs, e.g., {@code 0-3,8,10-11}.
+     *
+     * @param list the list
+     * @return the sorted CPU numbers
+     */
+    public static List<Integer> parseList(String list) {
+        final List<Integer> cpus = new ArrayList<>();
+        for (final String range : list.trim().split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+            final int dash = range.indexOf('-');
+            if (dash < 0) {
+                cpus.add(Integer.parseInt(range));
+            } else {
+                final int end = Integer.parseInt(range.substring(dash + 1));
+                for (int cpu = Integer.parseInt(range.substring(0, dash)); cpu <= end; cpu++) {
+                    cpus.add(cpu);
+                }
+            }
+        }
+        Collections.sort(cpus);
+        return cpus;
+    }
+
+    private static String readFirstLine(Path file) throws IOException {
+        final List<String> lines = Files.readAllLines(file);
+        return lines.isEmpty() ? "" : lines.get(0);
+    }
+
+    public List<Core> getCores() {
+        return cores;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import de.featjar.evaluation.process.Algorithm;
+import de.featjar.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an {@link Algorithm} as child process, like {@link de.featjar.evaluation.process.ProcessRunner
+ * ProcessRunner}, but monitors the child with a {@link Watchdog} to end it before the timeout if it stalls or exceeds
+ * the memory limit. On Linux, child processes can be isolated by pinning them to a {@link CoreAllocator.CoreSet} and
+ * placing them in a {@link CGroup}. The output of the child is captured by an {@link OutputCapture}.
+ *
+ * @author Sebastian Krieter
+ */
+public class MonitoredProcessRunner {
+
+    private long timeout = Long.MAX_VALUE;
+    private long stallWindow = 0;
+    private long memoryLimit = 0;
+    private long watchdogInterval = 1000;
+
+    private CoreAllocator coreAllocator;
+    private Path cGroupParent;
+
+    private long logSizeLimit = 16L * 1024L * 1024L;
+    private int tailSize = 50;
+
+    public <R> RunResult<R> run(Algorithm<R> algorithm) {
+        return run(algorithm, null);
+    }
+
+    /**
+     * Runs an algorithm and writes the output of its process to a gzip compressed log file.
+     *
+     * @param algorithm the algorithm
+     * @param logFile the log file, null to not write a log file
+     * @return the result
+     */
+    public <R> RunResult<R> run(Algorithm<R> algorithm, Path logFile) {
+        final RunResult<R> result = new RunResult<>();
+        CoreAllocator.CoreSet coreSet = null;
+        CGroup cGroup = null;
+        OutputCapture output = null;
+        try {
+            algorithm.preProcess();
+            List<String> command = algorithm.getCommandElements();
+            if (command.isEmpty()) {
+                result.setTerminatedInTime(true);
+                result.setNoError(true);
+                result.setTime(0);
+                result.setResult(algorithm.parseResults());
+            } else {
+                if (coreAllocator != null) {
+                    coreSet = coreAllocator.acquire();
+                    result.setCoreSet(coreSet.toString());
+                    if (cGroupParent != null) {
+                        cGroup = CGroup.create(cGroupParent, coreSet, memoryLimit);
+                    }
+                    command = isolate(command, coreSet, cGroup);
+                }
+                Logger.logDebug(String.join(" ", command));
+                output = new OutputCapture(logFile, logSizeLimit, tailSize);
+                final long startTime = System.nanoTime();
+                final Process process = new ProcessBuilder(command).start();
+                final Thread outThread = output.drain(process.getInputStream(), false, line -> {
+                    try {
+                        algorithm.readOutput(line);
+                    } catch (final Exception e) {
+                        Logger.logError(e);
+                    }
+                });
+                final Thread errThread = output.drain(process.getErrorStream(), true, line -> {});
+
+                TerminationReason terminationReason;
+                try {
+                    terminationReason = new Watchdog(timeout, stallWindow, memoryLimit, watchdogInterval)
+                            .await(process);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    terminationReason = TerminationReason.ERROR;
+                }
+                final long endTime = System.nanoTime();
+                if (terminationReason != TerminationReason.NONE) {
+                    Logger.logInfo("Terminating process (" + terminationReason + ")");
+                    destroy(process);
+                }
+                outThread.join();
+                errThread.join();
+
+                if (terminationReason == TerminationReason.NONE && cGroup != null && cGroup.isOOMKilled()) {
+                    terminationReason = TerminationReason.MEMORY;
+                }
+                final boolean terminatedInTime = terminationReason == TerminationReason.NONE;
+                result.setTerminationReason(terminationReason);
+                result.setTerminatedInTime(terminatedInTime);
+                result.setNoError(output.getErrorLineCount() == 0);
+                result.setTime(TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+                if (terminatedInTime) {
+                    result.setResult(algorithm.parseResults());
+                }
+            }
+        } catch (final Exception e) {
+            Logger.logError(e);
+            result.setNoError(false);
+            if (result.getTerminationReason() == TerminationReason.NONE && !result.isTerminatedInTime()) {
+                result.setTerminationReason(TerminationReason.ERROR);
+            }
+        } finally {
+            if (output != null) {
+                result.setOutputTail(output.getTail());
+                if (!result.isNoError()) {
+                    for (final String line : output.getTail()) {
+                        Logger.logError(line);
+                    }
+                }
+                try {
+                    output.close();
+                } catch (final IOException e) {
+                    Logger.logError(e);
+                }
+            }
+            if (cGroup != null) {
+                cGroup.delete();
+            }
+            if (coreSet != null) {
+                coreAllocator.release(coreSet);
+            }
+            try {
+                algorithm.postProcess();
+            } catch (final Exception e) {
+                Logger.logError(e);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> isolate(List<String> command, CoreAllocator.CoreSet coreSet, CGroup cGroup) {
+        final List<String> isolatedCommand = new ArrayList<>();
+        if (cGroup != null) {
+            isolatedCommand.add("sh");
+            isolatedCommand.add("-c");
+            isolatedCommand.add("echo $$ > \"$0\" && exec \"$@\"");
+            isolatedCommand.add(cGroup.getProcsFile().toString());
+        }
+        isolatedCommand.add("taskset");
+        isolatedCommand.add("-c");
+        isolatedCommand.add(coreSet.getCpuList());
+        isolatedCommand.addAll(command);
+        return isolatedCommand;
+    }
+
+    private static void destroy(Process process) throws InterruptedException {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        process.waitFor();
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public long getStallWindow() {
+        return stallWindow;
+    }
+
+    public void setStallWindow(long stallWindow) {
+        this.stallWindow = stallWindow;
+    }
+
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    public void setMemoryLimit(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * Enables pinning of child processes to dedicated cores and optionally placing them in their own cgroup.
+     *
+     * @param coreAllocator the allocator of core sets, null to disable isolation
+     * @param cGroupParent the delegated cgroup v2 below which a cgroup is created for each child process, null to
+     *     only pin the child processes
+     */
+    public void setIsolation(CoreAllocator coreAllocator, Path cGroupParent) {
+        this.coreAllocator = coreAllocator;
+        this.cGroupParent = cGroupParent;
+    }
+
+    public long getLogSizeLimit() {
+        return logSizeLimit;
+    }
+
+    /**
+     * @param logSizeLimit the maximum number of uncompressed characters written to the log file of each run
+     */
+    public void setLogSizeLimit(long logSizeLimit) {
+        this.logSizeLimit = logSizeLimit;
+    }
+
+    public int getTailSize() {
+        return tailSize;
+    }
+
+    /**
+     * @param tailSize the number of output lines kept in memory and reported if the process writes to its error
+     *     stream
+     */
+    public void setTailSize(int tailSize) {
+        this.tailSize = tailSize;
+    }
+
+    public long getWatchdogInterval() {
+        return watchdogInterval;
+    }
+
+    public void setWatchdogInterval(long watchdogInterval) {
+        this.watchdogInterval = watchdogInterval;
+    }
+}
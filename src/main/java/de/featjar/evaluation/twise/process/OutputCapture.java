@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import de.featjar.util.logging.Logger;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Drains the output streams of a child process on dedicated threads. All lines are written to an optional gzip
+ * compressed log file until its size limit is reached, and only the last lines are kept in memory. Lines longer than
+ * {@value #MAX_LINE_LENGTH} characters are truncated.
+ *
+ * @author Sebastian Krieter
+ */
+public class OutputCapture implements Closeable {
+
+    public static final int MAX_LINE_LENGTH = 8192;
+
+    private static final String ERROR_PREFIX = "[err] ";
+
+    private final Writer logWriter;
+    private final long sizeLimit;
+    private final int tailSize;
+    private final ArrayDeque<String> tail;
+
+    private long loggedSize;
+    private boolean truncated;
+    private int errorLineCount;
+
+    /**
+     * @param logFile the log file, null to not write a log file
+     * @param sizeLimit the maximum number of uncompressed characters written to the log file
+     * @param tailSize the number of lines kept in memory
+     * @throws IOException if the log file cannot be created
+     */
+    public OutputCapture(Path logFile, long sizeLimit, int tailSize) throws IOException {
+        if (logFile != null) {
+            Files.createDirectories(logFile.toAbsolutePath().getParent());
+            logWriter = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(logFile)), StandardCharsets.UTF_8));
+        } else {
+            logWriter = null;
+        }
+        this.sizeLimit = sizeLimit;
+        this.tailSize = tailSize;
+        tail = new ArrayDeque<>(tailSize);
+    }
+
+    /**
+     * Starts a thread that reads the given stream until its end.
+     *
+     * @param in the stream
+     * @param error whether the stream is the error stream of the process
+     * @param lineConsumer a consumer for every line
+     * @return the started thread
+     */
+    public Thread drain(InputStream in, boolean error, Consumer<String> lineConsumer) {
+        final Thread thread = new Thread(() -> {
+            try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                final StringBuilder line = new StringBuilder();
+                boolean endOfLine = false;
+                for (int c = reader.read(); c >= 0; c = reader.read()) {
+                    if (c == '\n') {
+                        accept(line.toString(), error, lineConsumer);
+                        line.setLength(0);
+                        endOfLine = true;
+                    } else {
+                        if (c != '\r' && line.length() < MAX_LINE_LENGTH) {
+                            line.append((char) c);
+                        }
+                        endOfLine = false;
+                    }
+                }
+                if (!endOfLine && line.length() > 0) {
+                    accept(line.toString(), error, lineConsumer);
+                }
+            } catch (final IOException e) {
+                Logger.logError(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void accept(String line, boolean error, Consumer<String> lineConsumer) {
+        final String loggedLine = error ? ERROR_PREFIX + line : line;
+        synchronized (this) {
+            if (error) {
+                errorLineCount++;
+            }
+            if (tail.size() == tailSize) {
+                tail.removeFirst();
+            }
+            if (tailSize > 0) {
+                tail.addLast(loggedLine);
+            }
+            if (logWriter != null && !truncated) {
+                try {
+                    if (loggedSize + loggedLine.length() + 1 > sizeLimit) {
+                        logWriter.write("[log truncated after " + loggedSize + " characters]\n");
+                        truncated = true;
+                    } else {
+                        logWriter.write(loggedLine);
+                        logWriter.write('\n');
+                        loggedSize += loggedLine.length() + 1;
+                    }
+                } catch (final IOException e) {
+                    Logger.logError(e);
+                    truncated = true;
+                }
+            }
+        }
+        lineConsumer.accept(line);
+    }
+
+    public synchronized int getErrorLineCount() {
+        return errorLineCount;
+    }
+
+    public synchronized List<String> getTail() {
+        return new ArrayList<>(tail);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import de.featjar.evaluation.process.Result;
+import java.util.List;
+
+/**
+ * Result of a run of a {@link MonitoredProcessRunner}, including the reason why the child process terminated.
+ *
+ * @param <R> the type of the result
+ *
+ * @author Sebastian Krieter
+ */
+public class RunResult<R> extends Result<R> {
+
+    private TerminationReason terminationReason = TerminationReason.NONE;
+    private String coreSet = "";
+    private List<String> outputTail = List.of();
+
+    public TerminationReason getTerminationReason() {
+        return terminationReason;
+    }
+
+    public void setTerminationReason(TerminationReason terminationReason) {
+        this.terminationReason = terminationReason;
+    }
+
+    /**
+     * @return the logical CPUs and NUMA node the child process was pinned to, or an empty string if it was not pinned
+     */
+    public String getCoreSet() {
+        return coreSet;
+    }
+
+    public void setCoreSet(String coreSet) {
+        this.coreSet = coreSet;
+    }
+
+    /**
+     * @return the last lines written by the child process
+     */
+    public List<String> getOutputTail() {
+        return outputTail;
+    }
+
+    public void setOutputTail(List<String> outputTail) {
+        this.outputTail = outputTail;
+    }
+}
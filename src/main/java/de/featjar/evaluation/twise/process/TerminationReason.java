@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+/**
+ * Reason for the termination of a child process.
+ *
+ * @author Sebastian Krieter
+ */
+public enum TerminationReason {
+    /** The process terminated by itself. */
+    NONE,
+    /** The process was killed because it exceeded the timeout. */
+    TIMEOUT,
+    /** The process was killed because it made no progress within the stall window. */
+    STALL,
+    /** The process was killed because its memory usage exceeded the memory limit. */
+    MEMORY,
+    /** The process could not be started or monitored. */
+    ERROR
+}
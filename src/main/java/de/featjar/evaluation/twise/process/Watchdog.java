@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.process;
+
+import de.featjar.evaluation.twise.util.ProcessStats;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Monitors a child process and its descendants while waiting for it to terminate. The process is considered stalled
+ * if its accumulated CPU time increased by less than one percent of the stall window during the last stall window,
+ * e.g., because it is deadlocked or blocked. The memory limit is checked against the summed resident set size, such
+ * that a process approaching its heap limit is ended before it starts thrashing.
+ *
+ * @author Sebastian Krieter
+ */
+public class Watchdog {
+
+    private static final long MIN_CPU_PROGRESS_PERCENT = 1;
+
+    private final long timeout;
+    private final long stallWindow;
+    private final long memoryLimit;
+    private final long interval;
+
+    private final ArrayDeque<long[]> cpuSamples = new ArrayDeque<>();
+
+    /**
+     * @param timeout the timeout in milliseconds
+     * @param stallWindow the stall window in milliseconds, 0 to disable stall detection
+     * @param memoryLimit the memory limit in bytes, 0 to disable the memory limit
+     * @param interval the interval between checks in milliseconds
+     */
+    public Watchdog(long timeout, long stallWindow, long memoryLimit, long interval) {
+        this.timeout = timeout;
+        this.stallWindow = stallWindow;
+        this.memoryLimit = memoryLimit;
+        this.interval = Math.max(1, interval);
+    }
+
+    /**
+     * Waits until the process terminates or violates one of the limits. The process is not killed by this method.
+     *
+     * @param process the process
+     * @return {@link TerminationReason#NONE} if the process terminated by itself, the violated limit otherwise
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public TerminationReason await(Process process) throws InterruptedException {
+        cpuSamples.clear();
+        final long startTime = System.nanoTime();
+        while (true) {
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            final long remaining = timeout - elapsed;
+            if (remaining <= 0) {
+                return TerminationReason.TIMEOUT;
+            }
+            if (process.waitFor(Math.min(remaining, interval), TimeUnit.MILLISECONDS)) {
+                return TerminationReason.NONE;
+            }
+            final TerminationReason reason = check(process.toHandle());
+            if (reason != TerminationReason.NONE) {
+                return reason;
+            }
+        }
+    }
+
+    private TerminationReason check(ProcessHandle process) {
+        if (memoryLimit > 0) {
+            final long rss = processTree(process)
+                    .mapToLong(p -> ProcessStats.getResidentSetSize(p.pid()))
+                    .filter(size -> size > 0)
+                    .sum();
+            if (rss > memoryLimit) {
+                return TerminationReason.MEMORY;
+            }
+        }
+        if (stallWindow > 0) {
+            final long now = System.nanoTime();
+            final long cpuTime = processTree(process)
+                    .map(p -> p.info().totalCpuDuration().orElse(Duration.ZERO))
+                    .mapToLong(Duration::toNanos)
+                    .sum();
+            cpuSamples.addLast(new long[] {now, cpuTime});
+
+            final long windowStart = now - TimeUnit.MILLISECONDS.toNanos(stallWindow);
+            while (cpuSamples.size() > 1) {
+                final long[] first = cpuSamples.removeFirst();
+                if (cpuSamples.peekFirst()[0] > windowStart) {
+                    cpuSamples.addFirst(first);
+                    break;
+                }
+            }
+            final long[] oldest = cpuSamples.peekFirst();
+            if (oldest[0] <= windowStart) {
+                final long cpuProgress = cpuTime - oldest[1];
+                if (cpuProgress * 100 < (now - oldest[0]) * MIN_CPU_PROGRESS_PERCENT) {
+                    return TerminationReason.STALL;
+                }
+            }
+        }
+        return TerminationReason.NONE;
+    }
+
+    private static Stream<ProcessHandle> processTree(ProcessHandle process) {
+        return Stream.concat(Stream.of(process), process.descendants());
+    }
+}
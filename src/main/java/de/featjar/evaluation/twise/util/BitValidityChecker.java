@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks configurations against a CNF, evaluating each clause for 64 configurations at once. Each block of
+ * configurations is transposed into one positive and one negative bit mask per variable, such that a clause is
+ * satisfied by the configurations in the disjunction of the masks of its literals.
+ *
+ * @author Sebastian Krieter
+ */
+public class BitValidityChecker {
+
+    public static class Validity {
+        private final int invalidConfigurations;
+        private final int[] violatedClauses;
+
+        private Validity(int invalidConfigurations, int[] violatedClauses) {
+            this.invalidConfigurations = invalidConfigurations;
+            this.violatedClauses = violatedClauses;
+        }
+
+        public int getInvalidConfigurations() {
+            return invalidConfigurations;
+        }
+
+        public int[] getViolatedClauses() {
+            return violatedClauses;
+        }
+    }
+
+    private final List<int[]> clauses;
+    private final int variableCount;
+
+    /**
+     * @param clauses the clauses of the CNF as literal arrays
+     * @param variableCount the number of variables in the CNF
+     */
+    public BitValidityChecker(List<int[]> clauses, int variableCount) {
+        this.clauses = clauses;
+        this.variableCount = variableCount;
+    }
+
+    /**
+     * Checks the given configurations. A variable that is not assigned in a configuration does not satisfy any
+     * literal.
+     *
+     * @param configurations the configurations, as returned by {@link Samples#adapt}
+     * @return the number of invalid configurations and the indices of all violated clauses
+     */
+    public Validity check(List<int[]> configurations) {
+        final long[] positive = new long[variableCount + 1];
+        final long[] negative = new long[variableCount + 1];
+        final boolean[] violated = new boolean[clauses.size()];
+        int invalidCount = 0;
+
+        for (int blockStart = 0; blockStart < configurations.size(); blockStart += Long.SIZE) {
+            final int blockSize = Math.min(Long.SIZE, configurations.size() - blockStart);
+            final long blockMask = blockSize == Long.SIZE ? -1L : (1L << blockSize) - 1;
+
+            Arrays.fill(positive, 0L);
+            Arrays.fill(negative, 0L);
+            for (int i = 0; i < blockSize; i++) {
+                final long bit = 1L << i;
+                for (final int literal : configurations.get(blockStart + i)) {
+                    if (literal > 0) {
+                        positive[literal] |= bit;
+                    } else if (literal < 0) {
+                        negative[-literal] |= bit;
+                    }
+                }
+            }
+
+            long invalid = 0L;
+            for (int c = 0; c < violated.length; c++) {
+                long satisfied = 0L;
+                for (final int literal : clauses.get(c)) {
+                    satisfied |= literal > 0 ? positive[literal] : negative[-literal];
+                }
+                final long unsatisfied = ~satisfied & blockMask;
+                if (unsatisfied != 0L) {
+                    invalid |= unsatisfied;
+                    violated[c] = true;
+                }
+            }
+            invalidCount += Long.bitCount(invalid);
+        }
+
+        int violatedCount = 0;
+        for (final boolean v : violated) {
+            if (v) {
+                violatedCount++;
+            }
+        }
+        final int[] violatedClauses = new int[violatedCount];
+        for (int c = 0, i = 0; c < violated.length; c++) {
+            if (violated[c]) {
+                violatedClauses[i++] = c;
+            }
+        }
+        return new Validity(invalidCount, violatedClauses);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads CSV files written by the evaluator line by line.
+ *
+ * @author Sebastian Krieter
+ */
+public final class CSVTable {
+
+    public static final String SEPARATOR = ";";
+
+    /**
+     * A line of a CSV file with access to its values by column name.
+     */
+    public static class Row {
+        private final List<String> header;
+        private final String[] values;
+
+        private Row(List<String> header, String[] values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        public String get(String column) {
+            final int index = header.indexOf(column);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown column " + column);
+            }
+            return index < values.length ? values[index] : "";
+        }
+
+        public String[] getValues() {
+            return values;
+        }
+    }
+
+    private CSVTable() {}
+
+    /**
+     * Reads the header of a CSV file.
+     *
+     * @param file the file
+     * @return the column names
+     * @throws IOException if the file cannot be read
+     */
+    public static List<String> readHeader(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final String line = reader.readLine();
+            return line == null ? List.of() : Arrays.asList(line.split(SEPARATOR, -1));
+        }
+    }
+
+    /**
+     * Passes all rows of a CSV file to the given consumer without keeping them in memory.
+     *
+     * @param file the file
+     * @param rowConsumer the consumer
+     * @throws IOException if the file cannot be read
+     */
+    public static void forEachRow(Path file, Consumer<Row> rowConsumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return;
+            }
+            final List<String> header = Arrays.asList(headerLine.split(SEPARATOR, -1));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isEmpty()) {
+                    rowConsumer.accept(new Row(header, line.split(SEPARATOR, -1)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import de.featjar.clauses.CNF;
+import de.featjar.clauses.LiteralList;
+import de.featjar.formula.structure.atomic.literal.VariableMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Memory efficient, immutable representation of a CNF. All literals are stored in one flat array, with the start of
+ * each clause given by an offset array. A randomized CNF shares these arrays with its origin and only stores a
+ * permutation of variables and clauses.
+ *
+ * @author Sebastian Krieter
+ */
+public class CompactCNF {
+
+    private final String[] names;
+    private final int[] literals;
+    private final int[] offsets;
+
+    private final int[] variableOrder;
+    private final int[] newVariables;
+    private final int[] clauseOrder;
+
+    /**
+     * @param names the variable names, where the name of variable i is stored at index i - 1
+     * @param literals the literals of all clauses
+     * @param offsets the start of each clause in the literal array, followed by the length of the literal array
+     */
+    public CompactCNF(String[] names, int[] literals, int[] offsets) {
+        this(names, literals, offsets, null, null, null);
+    }
+
+    private CompactCNF(
+            String[] names,
+            int[] literals,
+            int[] offsets,
+            int[] variableOrder,
+            int[] newVariables,
+            int[] clauseOrder) {
+        this.names = names;
+        this.literals = literals;
+        this.offsets = offsets;
+        this.variableOrder = variableOrder;
+        this.newVariables = newVariables;
+        this.clauseOrder = clauseOrder;
+    }
+
+    public static CompactCNF fromCNF(CNF cnf) {
+        final VariableMap variableMap = cnf.getVariableMap();
+        final String[] names = new String[variableMap.getVariableCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = variableMap.getVariableName(i + 1).orElseThrow();
+        }
+
+        final List<LiteralList> clauses = cnf.getClauses();
+        final int[] offsets = new int[clauses.size() + 1];
+        int literalCount = 0;
+        for (int i = 0; i < clauses.size(); i++) {
+            offsets[i] = literalCount;
+            literalCount += clauses.get(i).size();
+        }
+        offsets[clauses.size()] = literalCount;
+
+        final int[] literals = new int[literalCount];
+        for (int i = 0; i < clauses.size(); i++) {
+            final int[] clauseLiterals = clauses.get(i).getLiterals();
+            System.arraycopy(clauseLiterals, 0, literals, offsets[i], clauseLiterals.length);
+        }
+        return new CompactCNF(names, literals, offsets);
+    }
+
+    /**
+     * Creates a view of this CNF with a random order of variables and clauses. The literal arrays are not copied.
+     *
+     * @param random the random number generator
+     * @return the randomized CNF
+     */
+    public CompactCNF randomize(Random random) {
+        final int[] randomVariableOrder = shuffledIdentity(getVariableCount(), random);
+        final int[] randomNewVariables = new int[getVariableCount() + 1];
+        for (int i = 0; i < randomVariableOrder.length; i++) {
+            randomVariableOrder[i] = getOriginalVariable(randomVariableOrder[i] + 1);
+            randomNewVariables[randomVariableOrder[i]] = i + 1;
+        }
+        final int[] randomClauseOrder = shuffledIdentity(getClauseCount(), random);
+        for (int i = 0; i < randomClauseOrder.length; i++) {
+            randomClauseOrder[i] = getOriginalClause(randomClauseOrder[i]);
+        }
+        return new CompactCNF(
+                names, literals, offsets, randomVariableOrder, randomNewVariables, randomClauseOrder);
+    }
+
+    private static int[] shuffledIdentity(int size, Random random) {
+        final int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+        return array;
+    }
+
+    private int getOriginalVariable(int variable) {
+        return variableOrder == null ? variable : variableOrder[variable - 1];
+    }
+
+    private int getOriginalClause(int clause) {
+        return clauseOrder == null ? clause : clauseOrder[clause];
+    }
+
+    public int getVariableCount() {
+        return names.length;
+    }
+
+    public int getClauseCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @param variable the variable index, starting at 1
+     * @return the name of the variable
+     */
+    public String getName(int variable) {
+        return names[getOriginalVariable(variable) - 1];
+    }
+
+    public int getClauseSize(int clause) {
+        final int originalClause = getOriginalClause(clause);
+        return offsets[originalClause + 1] - offsets[originalClause];
+    }
+
+    /**
+     * @param clause the clause index, starting at 0
+     * @param position the position of the literal within the clause
+     * @return the literal
+     */
+    public int getLiteral(int clause, int position) {
+        final int literal = literals[offsets[getOriginalClause(clause)] + position];
+        if (newVariables == null) {
+            return literal;
+        }
+        final int variable = newVariables[Math.abs(literal)];
+        return literal > 0 ? variable : -variable;
+    }
+
+    public int[] getClause(int clause) {
+        final int[] clauseLiterals = new int[getClauseSize(clause)];
+        for (int i = 0; i < clauseLiterals.length; i++) {
+            clauseLiterals[i] = getLiteral(clause, i);
+        }
+        return clauseLiterals;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a {@link CompactCNF} in DIMACS format directly to a file channel. Variable names are written as comments.
+ * The buffer is reused for all files written by the same instance, so an instance must not be shared between
+ * threads.
+ *
+ * @author Sebastian Krieter
+ */
+public class DIMACSWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[11];
+
+    private FileChannel channel;
+
+    public void write(CompactCNF cnf, Path path) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel = fileChannel;
+            buffer.clear();
+
+            final int variableCount = cnf.getVariableCount();
+            for (int variable = 1; variable <= variableCount; variable++) {
+                putASCII("c ");
+                putInt(variable);
+                put((byte) ' ');
+                putBytes(cnf.getName(variable).getBytes(StandardCharsets.UTF_8));
+                put((byte) '\n');
+            }
+
+            putASCII("p cnf ");
+            putInt(variableCount);
+            put((byte) ' ');
+            putInt(cnf.getClauseCount());
+            put((byte) '\n');
+
+            final int clauseCount = cnf.getClauseCount();
+            for (int clause = 0; clause < clauseCount; clause++) {
+                final int size = cnf.getClauseSize(clause);
+                for (int i = 0; i < size; i++) {
+                    putInt(cnf.getLiteral(clause, i));
+                    put((byte) ' ');
+                }
+                put((byte) '0');
+                put((byte) '\n');
+            }
+            flush();
+        } finally {
+            channel = null;
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private void putASCII(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            put((byte) s.charAt(i));
+        }
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+            if (bytes.length > buffer.capacity()) {
+                final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    private void putInt(int value) throws IOException {
+        if (value < 0) {
+            put((byte) '-');
+        }
+        long remaining = Math.abs((long) value);
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        } while (remaining > 0);
+        while (length > 0) {
+            put(digits[--length]);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reduces a sample to a subset that covers the same interactions using a greedy set cover. In each step, the
+ * configuration covering the most uncovered interactions is selected. The gains of all remaining configurations are
+ * computed in parallel.
+ *
+ * @author Sebastian Krieter
+ */
+public class GreedySampleReducer {
+
+    /**
+     * Must be called within the fork join pool that should be used.
+     *
+     * @param interactionSets the bit sets of covered interactions per configuration, as returned by
+     *     {@link TWiseInteractions#getInteractionSets(List)}
+     * @return the indices of the selected configurations in ascending order
+     */
+    public List<Integer> reduce(long[][] interactionSets) {
+        final List<Integer> selected = new ArrayList<>();
+        if (interactionSets.length == 0) {
+            return selected;
+        }
+        final long[] covered = new long[interactionSets[0].length];
+        List<Integer> candidates =
+                IntStream.range(0, interactionSets.length).boxed().collect(Collectors.toList());
+
+        while (!candidates.isEmpty()) {
+            final int[] gains = candidates.parallelStream()
+                    .mapToInt(c -> getGain(interactionSets[c], covered))
+                    .toArray();
+
+            int best = -1;
+            final List<Integer> remaining = new ArrayList<>(candidates.size());
+            for (int i = 0; i < gains.length; i++) {
+                if (gains[i] > 0) {
+                    remaining.add(candidates.get(i));
+                    if (best < 0 || gains[i] > gains[best]) {
+                        best = i;
+                    }
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+
+            final Integer bestCandidate = candidates.get(best);
+            final long[] bestSet = interactionSets[bestCandidate];
+            for (int w = 0; w < covered.length; w++) {
+                covered[w] |= bestSet[w];
+            }
+            selected.add(bestCandidate);
+            remaining.remove(bestCandidate);
+            candidates = remaining;
+        }
+        selected.sort(Comparator.naturalOrder());
+        return selected;
+    }
+
+    private static int getGain(long[] set, long[] covered) {
+        int gain = 0;
+        for (int w = 0; w < set.length; w++) {
+            gain += Long.bitCount(set[w] & ~covered[w]);
+        }
+        return gain;
+    }
+}
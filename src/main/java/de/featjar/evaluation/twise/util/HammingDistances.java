@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes statistics of the pairwise Hamming distances of configurations. Configurations are packed into bit sets of
+ * their selected variables, such that the distance of two configurations is the population count of their symmetric
+ * difference. The pairs are processed in blocks, such that each task compares two small groups of configurations
+ * that fit into the cache.
+ *
+ * @author Sebastian Krieter
+ */
+public class HammingDistances {
+
+    private static final int BLOCK_SIZE = 64;
+
+    public static class Statistics {
+        private long sum;
+        private long count;
+        private int min = Integer.MAX_VALUE;
+        private int max = 0;
+
+        private void add(int distance) {
+            sum += distance;
+            count++;
+            if (distance < min) {
+                min = distance;
+            }
+            if (distance > max) {
+                max = distance;
+            }
+        }
+
+        private Statistics merge(Statistics other) {
+            sum += other.sum;
+            count += other.count;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        public long getPairCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public int getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+    }
+
+    private static class BlockTask extends RecursiveTask<Statistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[][] configurations;
+        private final int fromBlock, toBlock;
+
+        private BlockTask(long[][] configurations, int fromBlock, int toBlock) {
+            this.configurations = configurations;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected Statistics compute() {
+            if (toBlock - fromBlock > 1) {
+                final int middle = (fromBlock + toBlock) >>> 1;
+                final BlockTask left = new BlockTask(configurations, fromBlock, middle);
+                left.fork();
+                final Statistics right = new BlockTask(configurations, middle, toBlock).compute();
+                return left.join().merge(right);
+            }
+            final Statistics statistics = new Statistics();
+            final int rowStart = fromBlock * BLOCK_SIZE;
+            final int rowEnd = Math.min(rowStart + BLOCK_SIZE, configurations.length);
+            for (int columnStart = rowStart; columnStart < configurations.length; columnStart += BLOCK_SIZE) {
+                final int columnEnd = Math.min(columnStart + BLOCK_SIZE, configurations.length);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    final long[] a = configurations[i];
+                    for (int j = Math.max(i + 1, columnStart); j < columnEnd; j++) {
+                        final long[] b = configurations[j];
+                        int distance = 0;
+                        for (int w = 0; w < a.length; w++) {
+                            distance += Long.bitCount(a[w] ^ b[w]);
+                        }
+                        statistics.add(distance);
+                    }
+                }
+            }
+            return statistics;
+        }
+    }
+
+    /**
+     * Packs configurations into bit sets of their selected variables.
+     *
+     * @param configurations the configurations, as returned by {@link Samples#adapt}
+     * @param variableCount the number of variables
+     * @return one bit set per configuration
+     */
+    public static long[][] pack(List<int[]> configurations, int variableCount) {
+        final int words = (variableCount + Long.SIZE - 1) / Long.SIZE;
+        final long[][] packed = new long[configurations.size()][words];
+        for (int c = 0; c < packed.length; c++) {
+            final long[] bits = packed[c];
+            for (final int literal : configurations.get(c)) {
+                if (literal > 0) {
+                    final int index = literal - 1;
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * @param configurations the packed configurations
+     * @param pool the pool used to compute the distances
+     * @return the statistics of the distances of all pairs of configurations
+     */
+    public static Statistics compute(long[][] configurations, ForkJoinPool pool) {
+        final int blocks = (configurations.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        if (blocks == 0) {
+            return new Statistics();
+        }
+        return pool.invoke(new BlockTask(configurations, 0, blocks));
+    }
+}
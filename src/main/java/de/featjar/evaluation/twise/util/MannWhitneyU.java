@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.util.Arrays;
+
+/**
+ * Two-sided Mann-Whitney U test using the normal approximation with tie correction.
+ *
+ * @author Sebastian Krieter
+ */
+public final class MannWhitneyU {
+
+    private MannWhitneyU() {}
+
+    /**
+     * @param x the first sample
+     * @param y the second sample
+     * @return the two-sided p-value, or 1 if one of the samples is empty
+     */
+    public static double test(double[] x, double[] y) {
+        final int n1 = x.length;
+        final int n2 = y.length;
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+        final int n = n1 + n2;
+        final double[][] values = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            values[i] = new double[] {x[i], 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            values[n1 + i] = new double[] {y[i], 1};
+        }
+        Arrays.sort(values, (a, b) -> Double.compare(a[0], b[0]));
+
+        double rankSumX = 0;
+        double tieCorrection = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && values[j][0] == values[i][0]) {
+                j++;
+            }
+            final double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (values[k][1] == 0) {
+                    rankSumX += rank;
+                }
+            }
+            final double ties = j - i;
+            tieCorrection += ties * ties * ties - ties;
+            i = j;
+        }
+
+        final double u = rankSumX - n1 * (n1 + 1) / 2.0;
+        final double mean = n1 * (double) n2 / 2.0;
+        final double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        final double z = (Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1, 2 * (1 - normalCDF(Math.max(z, 0))));
+    }
+
+    private static double normalCDF(double z) {
+        return 0.5 * (1 + erf(z / Math.sqrt(2)));
+    }
+
+    private static double erf(double x) {
+        final double t = 1 / (1 + 0.3275911 * Math.abs(x));
+        final double y = 1
+                - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t + 0.254829592)
+                        * t
+                        * Math.exp(-x * x);
+        return x >= 0 ? y : -y;
+    }
+}
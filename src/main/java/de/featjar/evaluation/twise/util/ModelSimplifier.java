@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.formula.structure.atomic.literal.VariableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Removes core and dead features and merges the variables of each atomic set into a single representative. Samples
+ * for the reduced model can be expanded to the full set of variables again.
+ *
+ * @author Sebastian Krieter
+ */
+public class ModelSimplifier {
+
+    private static class Clause {
+        private final int[] literals;
+        private final int hashCode;
+
+        private Clause(int[] literals) {
+            this.literals = literals;
+            hashCode = Arrays.hashCode(literals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Clause && Arrays.equals(literals, ((Clause) obj).literals);
+        }
+    }
+
+    private final CompactCNF cnf;
+    private final VariableMap variableMap;
+    private final int[] values;
+    private final int[] representatives;
+
+    private int coreCount, deadCount;
+    private CompactCNF reducedCNF;
+
+    /**
+     * @param cnf the full model
+     * @param coreDead the literals of all core and dead features
+     * @param atomicSets the atomic sets, each containing literals that are equivalent
+     */
+    public ModelSimplifier(CompactCNF cnf, LiteralList coreDead, List<LiteralList> atomicSets) {
+        this.cnf = cnf;
+        final int variableCount = cnf.getVariableCount();
+        final List<String> names = new ArrayList<>(variableCount);
+        for (int variable = 1; variable <= variableCount; variable++) {
+            names.add(cnf.getName(variable));
+        }
+        variableMap = VariableMap.fromNames(names);
+        values = new int[variableCount + 1];
+        representatives = new int[variableCount + 1];
+
+        for (final int literal : coreDead.getLiterals()) {
+            values[Math.abs(literal)] = literal > 0 ? 1 : -1;
+            if (literal > 0) {
+                coreCount++;
+            } else {
+                deadCount++;
+            }
+        }
+        for (int variable = 1; variable <= variableCount; variable++) {
+            representatives[variable] = variable;
+        }
+        for (final LiteralList atomicSet : atomicSets) {
+            int representative = 0;
+            for (final int literal : atomicSet.getLiterals()) {
+                final int variable = Math.abs(literal);
+                if (values[variable] == 0) {
+                    if (representative == 0) {
+                        representative = literal;
+                    } else {
+                        representatives[variable] = (literal > 0) == (representative > 0)
+                                ? Math.abs(representative)
+                                : -Math.abs(representative);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the reduced model. Clauses satisfied by core or dead features are removed, unsatisfied literals are
+     * removed from the remaining clauses, and all variables are replaced by the representative of their atomic set.
+     *
+     * @return the reduced model
+     */
+    public CompactCNF reduce() {
+        final int[] newIndex = new int[values.length];
+        final List<String> names = new ArrayList<>();
+        for (int variable = 1; variable < values.length; variable++) {
+            if (values[variable] == 0 && representatives[variable] == variable) {
+                names.add(cnf.getName(variable));
+                newIndex[variable] = names.size();
+            }
+        }
+
+        final Set<Clause> clauses = new HashSet<>();
+        final List<int[]> reducedClauses = new ArrayList<>();
+        int literalCount = 0;
+        clauseLoop:
+        for (int clause = 0; clause < cnf.getClauseCount(); clause++) {
+            final int[] mapped = new int[cnf.getClauseSize(clause)];
+            int size = 0;
+            for (final int literal : cnf.getClause(clause)) {
+                final int variable = Math.abs(literal);
+                final int value = values[variable];
+                if (value != 0) {
+                    if ((value > 0) == (literal > 0)) {
+                        continue clauseLoop;
+                    }
+                } else {
+                    final int representative = representatives[variable];
+                    final int newVariable = newIndex[Math.abs(representative)];
+                    mapped[size++] = (literal > 0) == (representative > 0) ? newVariable : -newVariable;
+                }
+            }
+            final int[] literals = Arrays.stream(mapped, 0, size).distinct().sorted().toArray();
+            for (final int literal : literals) {
+                if (literal > 0 && Arrays.binarySearch(literals, -literal) >= 0) {
+                    continue clauseLoop;
+                }
+            }
+            if (clauses.add(new Clause(literals))) {
+                reducedClauses.add(literals);
+                literalCount += literals.length;
+            }
+        }
+
+        final int[] literals = new int[literalCount];
+        final int[] offsets = new int[reducedClauses.size() + 1];
+        for (int i = 0; i < reducedClauses.size(); i++) {
+            final int[] clauseLiterals = reducedClauses.get(i);
+            System.arraycopy(clauseLiterals, 0, literals, offsets[i], clauseLiterals.length);
+            offsets[i + 1] = offsets[i] + clauseLiterals.length;
+        }
+        reducedCNF = new CompactCNF(names.toArray(new String[0]), literals, offsets);
+        return reducedCNF;
+    }
+
+    /**
+     * Expands a sample of the reduced model to all variables of the full model.
+     *
+     * @param reducedSample the sample for the reduced model
+     * @return the sample for the full model
+     */
+    public SolutionList expand(SolutionList reducedSample) {
+        final List<LiteralList> solutions = new ArrayList<>(reducedSample.getSolutions().size());
+        for (final int[] configuration : Samples.adapt(reducedSample, variableMap)) {
+            final int[] literals = new int[configuration.length];
+            for (int variable = 1; variable < values.length; variable++) {
+                if (values[variable] != 0) {
+                    literals[variable - 1] = values[variable] * variable;
+                } else {
+                    final int representative = representatives[variable];
+                    final int representativeLiteral = configuration[Math.abs(representative) - 1];
+                    if (representativeLiteral != 0) {
+                        literals[variable - 1] =
+                                (representativeLiteral > 0) == (representative > 0) ? variable : -variable;
+                    }
+                }
+            }
+            solutions.add(new LiteralList(literals));
+        }
+        return new SolutionList(variableMap, solutions);
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    public int getDeadCount() {
+        return deadCount;
+    }
+
+    public CompactCNF getReducedCNF() {
+        return reducedCNF;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Reads resource usage of running processes from the proc file system. On systems without a proc file system, all
+ * values are reported as -1.
+ *
+ * @author Sebastian Krieter
+ */
+public final class ProcessStats {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessStats() {}
+
+    /**
+     * @param pid the process id
+     * @return the resident set size of the process in bytes, or -1 if it cannot be determined
+     */
+    public static long getResidentSetSize(long pid) {
+        try {
+            final List<String> lines = Files.readAllLines(PROC.resolve(Long.toString(pid)).resolve("status"));
+            for (final String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    final String[] values = line.substring(6).trim().split("\\s+");
+                    return Long.parseLong(values[0]) * 1024L;
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            // process terminated or no proc file system
+        }
+        return -1;
+    }
+}
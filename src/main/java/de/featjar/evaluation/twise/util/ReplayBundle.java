@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * A self-contained directory to re-execute a single run of a sampling algorithm. The bundle contains the command line
+ * of the run, copies of all input files the command refers to, and the properties of the original run. Paths in the
+ * temporary directory of the evaluation are replaced by the placeholder {@value #BUNDLE_PLACEHOLDER}, which points to
+ * the bundle directory when the command is read again.
+ *
+ * @author Sebastian Krieter
+ */
+public final class ReplayBundle {
+
+    public static final String BUNDLE_PLACEHOLDER = "${bundle}";
+    public static final String COMMAND_FILE = "command.txt";
+    public static final String PROPERTIES_FILE = "replay.properties";
+
+    public static final String OUTPUT = "output";
+    public static final String JVM_FLAGS = "jvmFlags";
+
+    private ReplayBundle() {}
+
+    /**
+     * Writes a replay bundle. The file following the option {@code -o} is considered the output file of the command
+     * and its location is stored in the property {@value #OUTPUT}.
+     *
+     * @param bundlePath the bundle directory
+     * @param command the command elements of the run
+     * @param tempPath the temporary directory of the evaluation containing the input and output files of the run
+     * @param properties the properties of the run
+     * @throws IOException if the bundle cannot be written
+     */
+    public static void write(Path bundlePath, List<String> command, Path tempPath, Properties properties)
+            throws IOException {
+        Files.createDirectories(bundlePath);
+        final String tempPrefix = tempPath.toString();
+        final List<String> bundleCommand = new ArrayList<>(command.size());
+        for (final String element : command) {
+            if (element.startsWith(tempPrefix)) {
+                final Path file = Paths.get(element);
+                final Path relativeFile = tempPath.relativize(file);
+                if (Files.isRegularFile(file)) {
+                    final Path bundleFile = bundlePath.resolve(relativeFile);
+                    Files.createDirectories(bundleFile.getParent());
+                    Files.copy(file, bundleFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                bundleCommand.add(BUNDLE_PLACEHOLDER + "/" + relativeFile.toString().replace('\\', '/'));
+            } else {
+                bundleCommand.add(element);
+            }
+        }
+        final int outputIndex = bundleCommand.indexOf("-o") + 1;
+        if (outputIndex > 0 && outputIndex < bundleCommand.size()) {
+            properties.setProperty(OUTPUT, bundleCommand.get(outputIndex));
+        }
+        properties.setProperty(JVM_FLAGS, String.join(" ", getJVMFlags(command)));
+        Files.write(bundlePath.resolve(COMMAND_FILE), bundleCommand, StandardCharsets.UTF_8);
+        try (Writer writer = Files.newBufferedWriter(bundlePath.resolve(PROPERTIES_FILE), StandardCharsets.UTF_8)) {
+            properties.store(writer, "Replay bundle");
+        }
+    }
+
+    /**
+     * Reads the command of a replay bundle and resolves the placeholder {@value #BUNDLE_PLACEHOLDER}.
+     *
+     * @param bundlePath the bundle directory
+     * @return the command elements
+     * @throws IOException if the command cannot be read
+     */
+    public static List<String> readCommand(Path bundlePath) throws IOException {
+        return Files.readAllLines(bundlePath.resolve(COMMAND_FILE), StandardCharsets.UTF_8).stream()
+                .map(element -> resolve(bundlePath, element))
+                .collect(Collectors.toList());
+    }
+
+    public static Properties readProperties(Path bundlePath) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(bundlePath.resolve(PROPERTIES_FILE), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    public static String resolve(Path bundlePath, String element) {
+        return element.replace(BUNDLE_PLACEHOLDER, bundlePath.toAbsolutePath().toString());
+    }
+
+    /**
+     * @return the options between {@code java} and the class path or main class of a Java command
+     */
+    private static List<String> getJVMFlags(List<String> command) {
+        final List<String> flags = new ArrayList<>();
+        final int javaIndex = command.indexOf("java");
+        if (javaIndex >= 0) {
+            for (int i = javaIndex + 1; i < command.size(); i++) {
+                final String element = command.get(i);
+                if (!element.startsWith("-") || element.equals("-cp") || element.equals("-jar")) {
+                    break;
+                }
+                flags.add(element);
+            }
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Identifies a sample file written by the {@link de.featjar.evaluation.twise.SamplingPhase SamplingPhase} and the
+ * randomized model it was computed for.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleFile {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("(\\d+)_(\\d+)_(\\d+)_(\\d+)_sample\\.(.+)");
+
+    private final Path path;
+    private final String modelID;
+    private final int systemIteration;
+    private final int algorithmIndex;
+    private final int algorithmIteration;
+
+    private SampleFile(Path path, String modelID, int systemIteration, int algorithmIndex, int algorithmIteration) {
+        this.path = path;
+        this.modelID = modelID;
+        this.systemIteration = systemIteration;
+        this.algorithmIndex = algorithmIndex;
+        this.algorithmIteration = algorithmIteration;
+    }
+
+    public static String getFileName(
+            Object modelID, int systemIteration, int algorithmIndex, int algorithmIteration, String extension) {
+        return modelID + "_" + systemIteration + "_" + algorithmIndex + "_" + algorithmIteration + "_sample."
+                + extension;
+    }
+
+    public static String getModelFileName(Object modelID, int systemIteration, String extension) {
+        return modelID + "_" + systemIteration + "_rnd_model." + extension;
+    }
+
+    /**
+     * Lists all sample files in the given directory, ordered by model, system iteration, algorithm, and algorithm
+     * iteration.
+     *
+     * @param directory the directory containing the samples
+     * @param extension the file extension of the samples
+     * @return a list of all sample files
+     * @throws IOException if the directory cannot be read
+     */
+    public static List<SampleFile> list(Path directory, String extension) throws IOException {
+        final List<SampleFile> sampleFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                final Matcher matcher = NAME_PATTERN.matcher(file.getFileName().toString());
+                if (matcher.matches() && extension.equals(matcher.group(5))) {
+                    sampleFiles.add(new SampleFile(
+                            file,
+                            matcher.group(1),
+                            Integer.parseInt(matcher.group(2)),
+                            Integer.parseInt(matcher.group(3)),
+                            Integer.parseInt(matcher.group(4))));
+                }
+            });
+        }
+        sampleFiles.sort(Comparator.comparing((SampleFile s) -> Integer.parseInt(s.modelID))
+                .thenComparingInt(s -> s.systemIteration)
+                .thenComparingInt(s -> s.algorithmIndex)
+                .thenComparingInt(s -> s.algorithmIteration));
+        return sampleFiles;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Path getModelPath(String extension) {
+        return path.resolveSibling(getModelFileName(modelID, systemIteration, extension));
+    }
+
+    public String getModelID() {
+        return modelID;
+    }
+
+    public int getSystemIteration() {
+        return systemIteration;
+    }
+
+    public int getAlgorithmIndex() {
+        return algorithmIndex;
+    }
+
+    public int getAlgorithmIteration() {
+        return algorithmIteration;
+    }
+
+    @Override
+    public String toString() {
+        return path.getFileName().toString();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import de.featjar.clauses.LiteralList;
+import de.featjar.clauses.solutions.SolutionList;
+import de.featjar.formula.structure.atomic.literal.VariableMap;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper methods for working with samples on the level of plain literal arrays.
+ *
+ * @author Sebastian Krieter
+ */
+public final class Samples {
+
+    private Samples() {}
+
+    /**
+     * Maps the configurations of a sample to the variable indices of another variable map using the variable names.
+     * Variables that are unknown to the target map are dropped, variables missing in a configuration are set to 0.
+     *
+     * @param sample the sample
+     * @param target the variable map of the model
+     * @return one literal array per configuration, indexed by variable - 1
+     */
+    public static List<int[]> adapt(SolutionList sample, VariableMap target) {
+        final VariableMap source = sample.getVariableMap();
+        final int[] mapping = new int[source.getVariableCount() + 1];
+        for (int i = 1; i < mapping.length; i++) {
+            mapping[i] = source.getVariableName(i)
+                    .flatMap(target::getVariableIndex)
+                    .orElse(0);
+        }
+
+        final int variableCount = target.getVariableCount();
+        final List<int[]> configurations = new ArrayList<>(sample.getSolutions().size());
+        for (final LiteralList solution : sample.getSolutions()) {
+            final int[] configuration = new int[variableCount];
+            for (final int literal : solution.getLiterals()) {
+                if (literal != 0) {
+                    final int variable = mapping[Math.abs(literal)];
+                    if (variable != 0) {
+                        configuration[variable - 1] = literal > 0 ? variable : -variable;
+                    }
+                }
+            }
+            configurations.add(configuration);
+        }
+        return configurations;
+    }
+
+    /**
+     * Converts the configurations of a sample to literal arrays indexed by variable - 1 of the sample's own variable
+     * map.
+     *
+     * @param sample the sample
+     * @return one literal array per configuration
+     */
+    public static List<int[]> toArrays(SolutionList sample) {
+        return adapt(sample, sample.getVariableMap());
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2023 Sebastian Krieter
+ *
+ * This file is part of evaluation-sampling-algorithms.
+ *
+ * evaluation-sampling-algorithms is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation-sampling-algorithms is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation-sampling-algorithms. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <> for further information.
+ */
+package de.featjar.evaluation.twise.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates the t-wise interactions covered by a list of configurations. Each interaction is encoded as the rank of
+ * its t literals among all t-combinations of the 2n literals, such that the covered interactions can be deduplicated
+ * in a bit set over all ranks and mapped to a dense index.
+ *
+ * @author Sebastian Krieter
+ */
+public class TWiseInteractions {
+
+    /**
+     * The maximum number of interaction keys of a single configuration that are held in memory at once, which
+     * corresponds to 400 MB.
+     */
+    public static final long MAX_INTERACTIONS = 50_000_000L;
+
+    /**
+     * The maximum number of t-combinations of all literals, i.e., the size of the bit set used for deduplication,
+     * which corresponds to 512 MB.
+     */
+    public static final long MAX_RANKS = 1L << 32;
+
+    private static final long SATURATED = Long.MAX_VALUE / 2;
+
+    private final int t;
+    private final int variableCount;
+    private final long[][] binomials;
+
+    /**
+     * @param t the interaction strength
+     * @param variableCount the number of variables
+     * @throws IllegalArgumentException if the interactions cannot be encoded as long values
+     */
+    public TWiseInteractions(int t, int variableCount) {
+        if (t < 1) {
+            throw new IllegalArgumentException("t must be positive: " + t);
+        }
+        this.t = t;
+        this.variableCount = variableCount;
+        final int literalCount = 2 * Math.max(variableCount, 1);
+        if (binomial(literalCount, t) >= SATURATED) {
+            throw new IllegalArgumentException(
+                    "Cannot encode " + t + "-wise interactions for " + variableCount + " variables");
+        }
+        binomials = new long[t + 1][literalCount];
+        for (int k = 1; k <= t; k++) {
+            for (int x = 0; x < literalCount; x++) {
+                binomials[k][x] = binomial(x, k);
+            }
+        }
+    }
+
+    /**
+     * Streams the encoded interactions of a single configuration without storing them.
+     *
+     * @param configuration the configuration as literal array indexed by variable - 1
+     * @return the interaction keys in no particular order
+     */
+    public LongStream interactions(int[] configuration) {
+        final int[] literalIDs = Arrays.stream(configuration)
+                .filter(l -> l != 0)
+                .map(l -> 2 * (Math.abs(l) - 1) + (l < 0 ? 1 : 0))
+                .sorted()
+                .toArray();
+        if (literalIDs.length < t) {
+            return LongStream.empty();
+        }
+        return StreamSupport.longStream(
+                Spliterators.spliterator(
+                        new InteractionIterator(literalIDs),
+                        binomial(literalIDs.length, t),
+                        Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+                false);
+    }
+
+    /**
+     * Computes the encoded interactions of a single configuration.
+     *
+     * @param configuration the configuration as literal array indexed by variable - 1
+     * @return the sorted interaction keys
+     * @throws IllegalArgumentException if the configuration has more than {@value #MAX_INTERACTIONS} interactions
+     */
+    public long[] getInteractions(int[] configuration) {
+        int literalCount = 0;
+        for (final int literal : configuration) {
+            if (literal != 0) {
+                literalCount++;
+            }
+        }
+        final long interactionCount = binomial(literalCount, t);
+        if (interactionCount > MAX_INTERACTIONS) {
+            throw new IllegalArgumentException("Too many " + t + "-wise interactions in one configuration: "
+                    + (interactionCount >= SATURATED ? "overflow" : interactionCount) + " > " + MAX_INTERACTIONS);
+        }
+        final long[] keys = interactions(configuration).toArray();
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Computes the interactions covered by each configuration as bit sets over a dense index of all interactions
+     * covered by at least one configuration. Must be called within the fork join pool that should be used.
+     *
+     * @param configurations the configurations
+     * @return one bit set per configuration
+     * @throws IllegalArgumentException if there are more than {@value #MAX_RANKS} t-combinations of literals
+     */
+    public long[][] getInteractionSets(List<int[]> configurations) {
+        final AtomicLongArray coveredRanks = getCoveredRanks(configurations);
+
+        final int blockCount = (coveredRanks.length() >>> 3) + 1;
+        final int[] blockOffsets = new int[blockCount];
+        int distinctCount = 0;
+        for (int w = 0; w < coveredRanks.length(); w++) {
+            if ((w & 7) == 0) {
+                blockOffsets[w >>> 3] = distinctCount;
+            }
+            distinctCount += Long.bitCount(coveredRanks.get(w));
+        }
+
+        final int words = (distinctCount + Long.SIZE - 1) / Long.SIZE;
+        return configurations.parallelStream()
+                .map(configuration -> {
+                    final long[] set = new long[words];
+                    interactions(configuration).forEach(rank -> {
+                        final int index = getDenseIndex(coveredRanks, blockOffsets, rank);
+                        set[index >>> 6] |= 1L << index;
+                    });
+                    return set;
+                })
+                .toArray(long[][]::new);
+    }
+
+    /**
+     * Marks the ranks of all interactions covered by the given configurations in a bit set, such that the memory
+     * depends on the number of possible interactions instead of the number of interactions of each configuration.
+     */
+    private AtomicLongArray getCoveredRanks(List<int[]> configurations) {
+        final long rankCount = binomial(2 * Math.max(variableCount, 1), t);
+        if (rankCount > MAX_RANKS) {
+            throw new IllegalArgumentException("Too many " + t + "-wise interactions for " + variableCount
+                    + " variables: " + rankCount + " > " + MAX_RANKS);
+        }
+        final AtomicLongArray coveredRanks = new AtomicLongArray((int) ((rankCount + Long.SIZE - 1) / Long.SIZE));
+        configurations.parallelStream().forEach(configuration -> interactions(configuration)
+                .forEach(rank -> {
+                    final int word = (int) (rank >>> 6);
+                    final long bit = 1L << rank;
+                    if ((coveredRanks.get(word) & bit) == 0) {
+                        coveredRanks.getAndAccumulate(word, bit, (a, b) -> a | b);
+                    }
+                }));
+        return coveredRanks;
+    }
+
+    private static int getDenseIndex(AtomicLongArray coveredRanks, int[] blockOffsets, long rank) {
+        final int word = (int) (rank >>> 6);
+        int index = blockOffsets[word >>> 3];
+        for (int w = word & ~7; w < word; w++) {
+            index += Long.bitCount(coveredRanks.get(w));
+        }
+        return index + Long.bitCount(coveredRanks.get(word) & ((1L << rank) - 1));
+    }
+
+    public int getT() {
+        return t;
+    }
+
+    /**
+     * @return the binomial coefficient, saturated at {@code Long.MAX_VALUE / 2}
+     */
+    private static long binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            final long factor = n - k + i;
+            if (result > SATURATED / factor) {
+                return SATURATED;
+            }
+            result = result * factor / i;
+        }
+        return result;
+    }
+
+    /**
+     * Enumerates the combinations of t literals in lexicographic order and encodes each by its rank in the
+     * combinatorial number system.
+     */
+    private class InteractionIterator implements PrimitiveIterator.OfLong {
+        private final int[] literalIDs;
+        private final int[] combination = new int[t];
+        private boolean hasNext = true;
+
+        private InteractionIterator(int[] literalIDs) {
+            this.literalIDs = literalIDs;
+            for (int i = 0; i < t; i++) {
+                combination[i] = i;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            long rank = 0;
+            for (int i = 0; i < t; i++) {
+                rank += binomials[i + 1][literalIDs[combination[i]]];
+            }
+
+            final int n = literalIDs.length;
+            int i = t - 1;
+            while (i >= 0 && combination[i] == n - t + i) {
+                i--;
+            }
+            if (i < 0) {
+                hasNext = false;
+            } else {
+                combination[i]++;
+                for (int j = i + 1; j < t; j++) {
+                    combination[j] = combination[j - 1] + 1;
+                }
+            }
+            return rank;
+        }
+    }
+}